@@ -0,0 +1,142 @@
+package com.example.test.catalog;
+
+import com.example.test.dto.ProductDto;
+import com.example.test.event.ProductChangedEvent;
+import com.example.test.mapper.ProductJsonWriter;
+import com.example.test.model.Product;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Immutable column view of the catalog in id order; the listing order is a separate index permutation.
+public abstract class CatalogSnapshot {
+
+    public abstract int Size();
+
+    // Index of the product in the columns, or a negative value when absent.
+    public abstract int IndexOf(String id);
+
+    public abstract String Id(int index);
+
+    public abstract String Name(int index);
+
+    public abstract String Description(int index);
+
+    public abstract double Price(int index);
+
+    public abstract int StockQuantity(int index);
+
+    public abstract long Version(int index);
+
+    // Index of the product at the given position of the listing.
+    public abstract int ListingIndex(int position);
+
+    public abstract int JsonLength();
+
+    public abstract void WriteJson(OutputStream outputStream) throws IOException;
+
+    // Heap held by the snapshot; a mapped snapshot only keeps its buffer reference on the heap.
+    public abstract long EstimatedBytes();
+
+    public ProductDto Get(int index) {
+        return new ProductDto(Id(index), Name(index), Description(index), Price(index), StockQuantity(index));
+    }
+
+    public static CatalogSnapshot Build(List<Product> products, ProductJsonWriter jsonWriter) throws IOException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream(Math.max(32, products.size() * 128));
+        jsonWriter.Write(products, json);
+
+        int size = products.size();
+        Integer[] byId = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            byId[i] = i;
+        }
+        Arrays.sort(byId, Comparator.comparing(i -> products.get(i).getId()));
+
+        HeapCatalogSnapshot.Columns columns = new HeapCatalogSnapshot.Columns(size);
+        int[] listing = new int[size];
+        for (int index = 0; index < size; index++) {
+            Product product = products.get(byId[index]);
+            columns.Set(index, product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                    product.getStockQuantity(), product.getVersion());
+            listing[byId[index]] = index;
+        }
+        return new HeapCatalogSnapshot(columns, listing, json.toByteArray());
+    }
+
+    // Copy-on-write application of committed changes: unchanged rows are carried over, changed rows
+    // replaced, deleted rows dropped and new rows merged into id order and appended to the listing.
+    // Changes not newer than the row's version are ignored, so replaying a change that the snapshot
+    // already reflects (e.g. one committed before the last full load) is harmless.
+    public CatalogSnapshot Apply(Collection<ProductChangedEvent> changes, ProductJsonWriter jsonWriter) throws IOException {
+        Map<String, ProductChangedEvent> latest = new LinkedHashMap<>();
+        for (ProductChangedEvent change : changes) {
+            latest.merge(change.id(), change, (previous, next) -> next.version() >= previous.version() ? next : previous);
+        }
+        List<ProductChangedEvent> added = new ArrayList<>();
+        int deleted = 0;
+        for (var iterator = latest.values().iterator(); iterator.hasNext(); ) {
+            ProductChangedEvent change = iterator.next();
+            int index = IndexOf(change.id());
+            if (index >= 0 ? change.version() <= Version(index) : change.IsDeleted()) {
+                iterator.remove();
+            } else if (index < 0) {
+                added.add(change);
+            } else if (change.IsDeleted()) {
+                deleted++;
+            }
+        }
+        if (latest.isEmpty()) {
+            return this;
+        }
+        List<ProductChangedEvent> addedById = new ArrayList<>(added);
+        addedById.sort(Comparator.comparing(ProductChangedEvent::id));
+
+        int size = Size();
+        HeapCatalogSnapshot.Columns columns = new HeapCatalogSnapshot.Columns(size - deleted + added.size());
+        int[] newIndexOfOld = new int[size];
+        int next = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size || j < addedById.size()) {
+            if (j == addedById.size() || (i < size && Id(i).compareTo(addedById.get(j).id()) < 0)) {
+                ProductChangedEvent change = latest.get(Id(i));
+                if (change == null) {
+                    columns.Set(next, Id(i), Name(i), Description(i), Price(i), StockQuantity(i), Version(i));
+                } else if (change.IsDeleted()) {
+                    newIndexOfOld[i++] = -1;
+                    continue;
+                } else {
+                    columns.Set(next, change);
+                }
+                newIndexOfOld[i++] = next++;
+            } else {
+                columns.Set(next++, addedById.get(j++));
+            }
+        }
+
+        int[] listing = new int[columns.Size()];
+        int position = 0;
+        for (int p = 0; p < size; p++) {
+            int index = newIndexOfOld[ListingIndex(p)];
+            if (index >= 0) {
+                listing[position++] = index;
+            }
+        }
+        for (ProductChangedEvent change : added) {
+            listing[position++] = columns.IndexOf(change.id());
+        }
+
+        ByteArrayOutputStream json = new ByteArrayOutputStream(Math.max(32, JsonLength() + added.size() * 128));
+        jsonWriter.Write(listing.length, p -> columns.Get(listing[p]), json);
+        return new HeapCatalogSnapshot(columns, listing, json.toByteArray());
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.test.catalog;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+// Binary, memory-mapped form of a CatalogSnapshot:
+//   header  : magic, version, count, reserved (int each), string table offset, json offset (long each)
+//   records : count fixed-width records in id order
+//             (id, name, description as int offset + int length into the string table;
+//              double price; int stock; long version)
+//   listing : count ints, the record index at each listing position
+//   strings : UTF-8 bytes of all ids, names and descriptions
+//   json    : the pre-serialized listing response
+public final class CatalogSnapshotFile {
+
+    private static final int MAGIC = 0x50434154; // "PCAT"
+    private static final int VERSION = 2;
+    static final int HEADER_BYTES = 4 * Integer.BYTES + 2 * Long.BYTES;
+    static final int RECORD_BYTES = 6 * Integer.BYTES + Double.BYTES + Integer.BYTES + Long.BYTES;
+
+    private CatalogSnapshotFile() {
+    }
+
+    // Written to a sibling temp file and moved into place, so a crash never leaves a torn snapshot.
+    public static void Write(CatalogSnapshot snapshot, Path file) throws IOException {
+        int count = snapshot.Size();
+        byte[][] strings = new byte[count * 3][];
+        long stringBytes = 0;
+        for (int i = 0; i < count; i++) {
+            strings[i * 3] = snapshot.Id(i).getBytes(StandardCharsets.UTF_8);
+            strings[i * 3 + 1] = snapshot.Name(i).getBytes(StandardCharsets.UTF_8);
+            strings[i * 3 + 2] = snapshot.Description(i).getBytes(StandardCharsets.UTF_8);
+            stringBytes += strings[i * 3].length + strings[i * 3 + 1].length + strings[i * 3 + 2].length;
+        }
+        long stringTableOffset = HEADER_BYTES + (long) count * (RECORD_BYTES + Integer.BYTES);
+        long jsonOffset = stringTableOffset + stringBytes;
+        long size = jsonOffset + snapshot.JsonLength();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Catalog snapshot too large for a single mapping: " + size + " bytes");
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(0)
+                    .putLong(stringTableOffset).putLong(jsonOffset);
+
+            int stringOffset = 0;
+            for (int i = 0; i < count; i++) {
+                for (int field = 0; field < 3; field++) {
+                    int length = strings[i * 3 + field].length;
+                    buffer.putInt(stringOffset).putInt(length);
+                    stringOffset += length;
+                }
+                buffer.putDouble(snapshot.Price(i)).putInt(snapshot.StockQuantity(i)).putLong(snapshot.Version(i));
+            }
+            for (int position = 0; position < count; position++) {
+                buffer.putInt(snapshot.ListingIndex(position));
+            }
+            for (byte[] string : strings) {
+                buffer.put(string);
+            }
+            snapshot.WriteJson(new OutputStream() {
+                @Override
+                public void write(int b) {
+                    buffer.put((byte) b);
+                }
+
+                @Override
+                public void write(byte[] bytes, int offset, int length) {
+                    buffer.put(bytes, offset, length);
+                }
+            });
+            buffer.force();
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Every record and listing entry is bounds-checked here, so a damaged file fails the load, not a request.
+    public static CatalogSnapshot Read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a catalog snapshot file: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Not a catalog snapshot file: " + file);
+            }
+            int count = buffer.getInt();
+            buffer.getInt();
+            long stringTableOffset = buffer.getLong();
+            long jsonOffset = buffer.getLong();
+            if (count < 0 || stringTableOffset != HEADER_BYTES + (long) count * (RECORD_BYTES + Integer.BYTES)
+                    || jsonOffset < stringTableOffset || jsonOffset > size || !IsConsistent(buffer, count,
+                    (int) (jsonOffset - stringTableOffset))) {
+                throw new IOException("Corrupt catalog snapshot file: " + file);
+            }
+            return new MappedCatalogSnapshot(buffer, count, (int) stringTableOffset, (int) jsonOffset);
+        }
+    }
+
+    private static boolean IsConsistent(ByteBuffer buffer, int count, int stringBytes) {
+        for (int i = 0; i < count; i++) {
+            int record = HEADER_BYTES + i * RECORD_BYTES;
+            for (int field = 0; field < 3; field++) {
+                int offset = buffer.getInt(record + field * 2 * Integer.BYTES);
+                int length = buffer.getInt(record + field * 2 * Integer.BYTES + Integer.BYTES);
+                if (offset < 0 || length < 0 || offset > stringBytes - length) {
+                    return false;
+                }
+            }
+        }
+        int listing = HEADER_BYTES + count * RECORD_BYTES;
+        for (int position = 0; position < count; position++) {
+            int index = buffer.getInt(listing + position * Integer.BYTES);
+            if (index < 0 || index >= count) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
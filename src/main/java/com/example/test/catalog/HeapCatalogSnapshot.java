@@ -0,0 +1,137 @@
+package com.example.test.catalog;
+
+import com.example.test.dto.ProductDto;
+import com.example.test.event.ProductChangedEvent;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+// Snapshot columns held as parallel arrays on the heap.
+final class HeapCatalogSnapshot extends CatalogSnapshot {
+
+    // Rough per-String overhead on a 64-bit JVM with compressed oops and compact strings.
+    private static final int STRING_OVERHEAD_BYTES = 40;
+
+    private final Columns _columns;
+    private final int[] _listing;
+    private final byte[] _json;
+
+    HeapCatalogSnapshot(Columns columns, int[] listing, byte[] json) {
+        _columns = columns;
+        _listing = listing;
+        _json = json;
+    }
+
+    @Override
+    public int Size() {
+        return _columns.Size();
+    }
+
+    @Override
+    public int IndexOf(String id) {
+        return _columns.IndexOf(id);
+    }
+
+    @Override
+    public String Id(int index) {
+        return _columns._ids[index];
+    }
+
+    @Override
+    public String Name(int index) {
+        return _columns._names[index];
+    }
+
+    @Override
+    public String Description(int index) {
+        return _columns._descriptions[index];
+    }
+
+    @Override
+    public double Price(int index) {
+        return _columns._prices[index];
+    }
+
+    @Override
+    public int StockQuantity(int index) {
+        return _columns._stockQuantities[index];
+    }
+
+    @Override
+    public long Version(int index) {
+        return _columns._versions[index];
+    }
+
+    @Override
+    public int ListingIndex(int position) {
+        return _listing[position];
+    }
+
+    @Override
+    public int JsonLength() {
+        return _json.length;
+    }
+
+    @Override
+    public void WriteJson(OutputStream outputStream) throws IOException {
+        outputStream.write(_json);
+    }
+
+    @Override
+    public long EstimatedBytes() {
+        int size = Size();
+        long bytes = _json.length + (long) size * (4 * Integer.BYTES + 2 * Long.BYTES + Integer.BYTES + Integer.BYTES);
+        for (int i = 0; i < size; i++) {
+            bytes += 3L * STRING_OVERHEAD_BYTES + Id(i).length() + Name(i).length() + Description(i).length();
+        }
+        return bytes;
+    }
+
+    // Builder-side view of the arrays, filled in id order before the snapshot is published.
+    static final class Columns {
+
+        private final String[] _ids;
+        private final String[] _names;
+        private final String[] _descriptions;
+        private final double[] _prices;
+        private final int[] _stockQuantities;
+        private final long[] _versions;
+
+        Columns(int size) {
+            _ids = new String[size];
+            _names = new String[size];
+            _descriptions = new String[size];
+            _prices = new double[size];
+            _stockQuantities = new int[size];
+            _versions = new long[size];
+        }
+
+        int Size() {
+            return _ids.length;
+        }
+
+        int IndexOf(String id) {
+            return Arrays.binarySearch(_ids, id);
+        }
+
+        void Set(int index, String id, String name, String description, double price, int stockQuantity, long version) {
+            _ids[index] = id;
+            _names[index] = name;
+            _descriptions[index] = description;
+            _prices[index] = price;
+            _stockQuantities[index] = stockQuantity;
+            _versions[index] = version;
+        }
+
+        void Set(int index, ProductChangedEvent change) {
+            ProductDto product = change.product();
+            Set(index, change.id(), product.name(), product.description(), product.price(),
+                    product.stockQuantity(), change.version());
+        }
+
+        ProductDto Get(int index) {
+            return new ProductDto(_ids[index], _names[index], _descriptions[index], _prices[index], _stockQuantities[index]);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.test.catalog;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Reads records from a CatalogSnapshotFile mapping on access; only serves until the first reload after a restart.
+final class MappedCatalogSnapshot extends CatalogSnapshot {
+
+    private static final int JSON_CHUNK_BYTES = 64 * 1024;
+
+    private final ByteBuffer _buffer;
+    private final int _count;
+    private final int _listingOffset;
+    private final int _stringTableOffset;
+    private final int _jsonOffset;
+
+    MappedCatalogSnapshot(ByteBuffer buffer, int count, int stringTableOffset, int jsonOffset) {
+        _buffer = buffer;
+        _count = count;
+        _listingOffset = CatalogSnapshotFile.HEADER_BYTES + count * CatalogSnapshotFile.RECORD_BYTES;
+        _stringTableOffset = stringTableOffset;
+        _jsonOffset = jsonOffset;
+    }
+
+    @Override
+    public int Size() {
+        return _count;
+    }
+
+    @Override
+    public int IndexOf(String id) {
+        int low = 0;
+        int high = _count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = Id(middle).compareTo(id);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    @Override
+    public String Id(int index) {
+        return ReadString(Record(index));
+    }
+
+    @Override
+    public String Name(int index) {
+        return ReadString(Record(index) + 2 * Integer.BYTES);
+    }
+
+    @Override
+    public String Description(int index) {
+        return ReadString(Record(index) + 4 * Integer.BYTES);
+    }
+
+    @Override
+    public double Price(int index) {
+        return _buffer.getDouble(Record(index) + 6 * Integer.BYTES);
+    }
+
+    @Override
+    public int StockQuantity(int index) {
+        return _buffer.getInt(Record(index) + 6 * Integer.BYTES + Double.BYTES);
+    }
+
+    @Override
+    public long Version(int index) {
+        return _buffer.getLong(Record(index) + 7 * Integer.BYTES + Double.BYTES);
+    }
+
+    @Override
+    public int ListingIndex(int position) {
+        return _buffer.getInt(_listingOffset + position * Integer.BYTES);
+    }
+
+    @Override
+    public int JsonLength() {
+        return _buffer.capacity() - _jsonOffset;
+    }
+
+    @Override
+    public void WriteJson(OutputStream outputStream) throws IOException {
+        int length = JsonLength();
+        byte[] chunk = new byte[Math.min(length, JSON_CHUNK_BYTES)];
+        for (int offset = 0; offset < length; offset += chunk.length) {
+            int size = Math.min(chunk.length, length - offset);
+            _buffer.get(_jsonOffset + offset, chunk, 0, size);
+            outputStream.write(chunk, 0, size);
+        }
+    }
+
+    @Override
+    public long EstimatedBytes() {
+        return 0;
+    }
+
+    private int Record(int index) {
+        if (index < 0 || index >= _count) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return CatalogSnapshotFile.HEADER_BYTES + index * CatalogSnapshotFile.RECORD_BYTES;
+    }
+
+    private String ReadString(int position) {
+        int offset = _buffer.getInt(position);
+        int length = _buffer.getInt(position + Integer.BYTES);
+        byte[] bytes = new byte[length];
+        _buffer.get(_stringTableOffset + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
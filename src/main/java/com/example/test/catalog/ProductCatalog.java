@@ -0,0 +1,219 @@
+package com.example.test.catalog;
+
+import com.example.test.config.CatalogProperties;
+import com.example.test.event.ProductChangedEvent;
+import com.example.test.invalidation.RemoteChangeListener;
+import com.example.test.mapper.ProductJsonWriter;
+import com.example.test.model.Product;
+import com.example.test.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Optional copy-on-write catalog snapshot. All loads, applies and persists run on the refresher thread.
+@Service
+public class ProductCatalog implements RemoteChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductCatalog.class);
+
+    private final ProductRepository _productRepository;
+    private final ProductJsonWriter _jsonWriter;
+    private final CatalogProperties _properties;
+    private final ScheduledExecutorService _refresher;
+    private final Queue<ProductChangedEvent> _pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean _applyScheduled = new AtomicBoolean();
+    private volatile CatalogSnapshot _snapshot;
+    private volatile CatalogSnapshot _persisted;
+
+    public ProductCatalog(ProductRepository productRepository, ProductJsonWriter jsonWriter, CatalogProperties properties) {
+        _productRepository = productRepository;
+        _jsonWriter = jsonWriter;
+        _properties = properties;
+        _refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-catalog-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Null while disabled or before the first load; callers fall back to the database.
+    public CatalogSnapshot GetSnapshot() {
+        return _properties.enabled() ? _snapshot : null;
+    }
+
+    // Full reload from the database, queued behind any load or apply already running.
+    public CatalogSnapshot Refresh() {
+        try {
+            return _refresher.submit(this::Reload).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while refreshing the catalog snapshot", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // A persisted snapshot serves at once; the database reconcile then runs in the background.
+    @EventListener(ApplicationReadyEvent.class)
+    public void OnApplicationReady() {
+        if (!_properties.enabled()) {
+            return;
+        }
+        if (_properties.snapshotFile() != null) {
+            long interval = _properties.persistInterval().toMillis();
+            _refresher.scheduleWithFixedDelay(this::Persist, interval, interval, TimeUnit.MILLISECONDS);
+        }
+        CatalogSnapshot persisted = LoadPersisted();
+        if (persisted == null) {
+            Refresh();
+            return;
+        }
+        _snapshot = persisted;
+        _persisted = persisted;
+        _refresher.execute(() -> {
+            try {
+                Reload();
+            } catch (RuntimeException e) {
+                log.warn("Catalog snapshot reconcile failed, serving the persisted snapshot", e);
+            }
+        });
+    }
+
+    public void Persist() {
+        CatalogSnapshot snapshot = _snapshot;
+        Path file = _properties.snapshotFile();
+        if (!_properties.enabled() || file == null || snapshot == null || snapshot == _persisted) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            CatalogSnapshotFile.Write(snapshot, file);
+            _persisted = snapshot;
+            log.info("Catalog snapshot persisted to {}: {} products, {} ms", file, snapshot.Size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Catalog snapshot could not be persisted to {}", file, e);
+        }
+    }
+
+    private CatalogSnapshot LoadPersisted() {
+        Path file = _properties.snapshotFile();
+        if (file == null || !Files.exists(file)) {
+            return null;
+        }
+        try {
+            long start = System.nanoTime();
+            CatalogSnapshot snapshot = CatalogSnapshotFile.Read(file);
+            log.info("Catalog snapshot loaded from {}: {} products, {} ms", file, snapshot.Size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return snapshot;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable catalog snapshot {}", file, e);
+            return null;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void OnProductChanged(ProductChangedEvent event) {
+        Enqueue(List.of(event));
+    }
+
+    // Changes from other nodes arrive already refetched and are applied like local ones.
+    @Override
+    public void OnRemoteChanges(List<ProductChangedEvent> changes) {
+        Enqueue(changes);
+    }
+
+    private void Enqueue(List<ProductChangedEvent> changes) {
+        if (!_properties.enabled()) {
+            return;
+        }
+        _pending.addAll(changes);
+        if (_applyScheduled.compareAndSet(false, true)) {
+            _refresher.schedule(this::ScheduledApply, _properties.refreshDelay().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void ScheduledApply() {
+        // Cleared before draining so changes queued during the apply schedule another one.
+        _applyScheduled.set(false);
+        CatalogSnapshot snapshot = _snapshot;
+        if (snapshot == null) {
+            // Not loaded yet; the first load drains the queue.
+            return;
+        }
+        try {
+            _snapshot = ApplyPending(snapshot);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Catalog snapshot apply failed, reloading from the database", e);
+            try {
+                Reload();
+            } catch (RuntimeException reloadError) {
+                // The changes are back in _pending and retried with the next apply or refresh.
+                log.warn("Catalog snapshot reload failed, keeping the previous snapshot", reloadError);
+            }
+        }
+    }
+
+    // Changes queued before the read are replayed on top; those it already saw are skipped by version.
+    private CatalogSnapshot Reload() {
+        long start = System.nanoTime();
+        List<Product> products = _productRepository.findAll();
+        CatalogSnapshot snapshot;
+        try {
+            snapshot = ApplyPending(CatalogSnapshot.Build(products, _jsonWriter));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        _snapshot = snapshot;
+
+        log.info("Catalog snapshot refreshed: {} products, ~{} bytes ({} bytes/product), {} ms",
+                snapshot.Size(), snapshot.EstimatedBytes(),
+                snapshot.Size() == 0 ? 0 : snapshot.EstimatedBytes() / snapshot.Size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return snapshot;
+    }
+
+    private CatalogSnapshot ApplyPending(CatalogSnapshot snapshot) throws IOException {
+        List<ProductChangedEvent> changes = new ArrayList<>();
+        for (ProductChangedEvent change; (change = _pending.poll()) != null; ) {
+            changes.add(change);
+        }
+        if (changes.isEmpty()) {
+            return snapshot;
+        }
+        try {
+            return snapshot.Apply(changes, _jsonWriter);
+        } catch (IOException | RuntimeException e) {
+            _pending.addAll(changes);
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void Shutdown() {
+        _refresher.shutdownNow();
+        Persist();
+    }
+}
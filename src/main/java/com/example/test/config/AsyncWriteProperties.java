@@ -0,0 +1,14 @@
+package com.example.test.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("product.async")
+public record AsyncWriteProperties(@DefaultValue("4") int workers,
+                                   @DefaultValue("4096") int queueCapacity,
+                                   @DefaultValue("500") int batchSize,
+                                   @DefaultValue("100000") int statusCapacity,
+                                   @DefaultValue("30s") Duration shutdownTimeout) {
+}
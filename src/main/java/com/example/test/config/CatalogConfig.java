@@ -0,0 +1,9 @@
+package com.example.test.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CatalogProperties.class)
+public class CatalogConfig {
+}
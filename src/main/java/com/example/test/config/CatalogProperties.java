@@ -0,0 +1,15 @@
+package com.example.test.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// snapshotFile is optional; when set, the snapshot is persisted there and loaded on startup.
+@ConfigurationProperties("product.catalog")
+public record CatalogProperties(@DefaultValue("false") boolean enabled,
+                                @DefaultValue("200ms") Duration refreshDelay,
+                                Path snapshotFile,
+                                @DefaultValue("60s") Duration persistInterval) {
+}
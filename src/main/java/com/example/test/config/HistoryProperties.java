@@ -0,0 +1,17 @@
+package com.example.test.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("product.history")
+public record HistoryProperties(@DefaultValue("true") boolean enabled,
+                                @DefaultValue("65536") int queueCapacity,
+                                @DefaultValue("1000") int batchSize,
+                                @DefaultValue("7d") Duration defaultRange,
+                                @DefaultValue("30s") Duration shutdownTimeout,
+                                @DefaultValue("0 30 3 * * *") String purgeCron,
+                                @DefaultValue("90d") Duration retention,
+                                @DefaultValue("1000") int purgeBatchSize) {
+}
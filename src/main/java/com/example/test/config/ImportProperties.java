@@ -0,0 +1,20 @@
+package com.example.test.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties("product.import")
+public record ImportProperties(@DefaultValue("1000") int batchSize,
+                               @DefaultValue("0") int parserThreads,
+                               @DefaultValue("8") int queueCapacity,
+                               @DefaultValue("1000") int maxErrors,
+                               @DefaultValue("1h") Duration jobRetention,
+                               @DefaultValue("2GB") DataSize maxUploadSize) {
+
+    public int EffectiveParserThreads() {
+        return parserThreads > 0 ? parserThreads : Runtime.getRuntime().availableProcessors();
+    }
+}
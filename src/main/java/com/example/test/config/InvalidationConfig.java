@@ -0,0 +1,43 @@
+package com.example.test.config;
+
+import com.example.test.invalidation.InvalidationBus;
+import com.example.test.invalidation.LoopbackInvalidationBus;
+import com.example.test.invalidation.UdpInvalidationBus;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(InvalidationProperties.class)
+public class InvalidationConfig {
+
+    @Bean
+    public InvalidationBus invalidationBus(InvalidationProperties properties) throws SocketException {
+        if (properties.enabled() && properties.transport() == InvalidationProperties.Transport.UDP) {
+            List<InetSocketAddress> peers = new ArrayList<>(properties.udpPeers().size());
+            for (String peer : properties.udpPeers()) {
+                peers.add(Address(peer));
+            }
+            if (properties.udpSecret() == null) {
+                throw new IllegalStateException("product.invalidation.udp-secret must be set for the UDP transport");
+            }
+            return new UdpInvalidationBus(Address(properties.udpBind()), peers,
+                    properties.udpSecret().getBytes(StandardCharsets.UTF_8));
+        }
+        return new LoopbackInvalidationBus();
+    }
+
+    private static InetSocketAddress Address(String hostAndPort) {
+        int colon = hostAndPort.lastIndexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Expected host:port, got " + hostAndPort);
+        }
+        return new InetSocketAddress(hostAndPort.substring(0, colon), Integer.parseInt(hostAndPort.substring(colon + 1)));
+    }
+}
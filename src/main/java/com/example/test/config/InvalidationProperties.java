@@ -0,0 +1,28 @@
+package com.example.test.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+// udpBind, udpPeers ("host:port") and udpSecret are only used with the UDP transport; udpBind must be
+// the address of the interface the peers reach, and udpSecret is shared by all nodes (32+ bytes).
+// Seen versions are kept for versionRetention to drop duplicates and reordered batches.
+@ConfigurationProperties("product.invalidation")
+public record InvalidationProperties(@DefaultValue("false") boolean enabled,
+                                     @DefaultValue("LOOPBACK") Transport transport,
+                                     @DefaultValue("50ms") Duration batchInterval,
+                                     @DefaultValue("500") int batchSize,
+                                     @DefaultValue("50ms") Duration refetchDelay,
+                                     @DefaultValue("100ms") Duration refetchJitter,
+                                     @DefaultValue("10m") Duration versionRetention,
+                                     @DefaultValue("127.0.0.1:7600") String udpBind,
+                                     @DefaultValue List<String> udpPeers,
+                                     String udpSecret) {
+
+    public enum Transport {
+        LOOPBACK,
+        UDP
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.test.config;
+
+import com.example.test.security.CachingJwtDecoder;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.*;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// JWT bearer authentication against locally configured keys: no call to an identity provider per request.
+@Configuration
+@EnableConfigurationProperties(JwtProperties.class)
+public class JwtConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "product.security.jwt", name = "jwks-file")
+    public JwtDecoder jwksJwtDecoder(JwtProperties properties) throws IOException, ParseException {
+        // Both beans would otherwise be created and the resource server would fail on the ambiguity.
+        if (properties.secret() != null) {
+            throw new IllegalStateException(
+                    "Set either product.security.jwt.jwks-file or product.security.jwt.secret, not both");
+        }
+        JWKSet jwkSet = JWKSet.load(properties.jwksFile().toFile());
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(
+                Set.of(JWSAlgorithm.RS256, JWSAlgorithm.RS384, JWSAlgorithm.RS512, JWSAlgorithm.ES256),
+                new ImmutableJWKSet<>(jwkSet)));
+        // Claims are validated by Spring's validators below, like NimbusJwtDecoder's own builders do.
+        processor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+        decoder.setJwtValidator(Validator(properties));
+        return new CachingJwtDecoder(decoder, properties.cacheSize(), properties.clockSkew());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "product.security.jwt", name = "secret")
+    public JwtDecoder secretJwtDecoder(JwtProperties properties) {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder
+                .withSecretKey(new SecretKeySpec(properties.secret().getBytes(StandardCharsets.UTF_8), "HmacSHA256"))
+                .build();
+        decoder.setJwtValidator(Validator(properties));
+        return new CachingJwtDecoder(decoder, properties.cacheSize(), properties.clockSkew());
+    }
+
+    // Roles come from the "roles" claim, e.g. ["ADMIN"] becomes ROLE_ADMIN.
+    @Bean
+    public JwtAuthenticationConverter jwtAuthenticationConverter() {
+        JwtGrantedAuthoritiesConverter authoritiesConverter = new JwtGrantedAuthoritiesConverter();
+        authoritiesConverter.setAuthoritiesClaimName("roles");
+        authoritiesConverter.setAuthorityPrefix("ROLE_");
+
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(authoritiesConverter);
+        return converter;
+    }
+
+    private static OAuth2TokenValidator<Jwt> Validator(JwtProperties properties) {
+        List<OAuth2TokenValidator<Jwt>> validators = new ArrayList<>();
+        validators.add(new JwtTimestampValidator(properties.clockSkew()));
+        if (properties.issuer() != null) {
+            validators.add(new JwtIssuerValidator(properties.issuer()));
+        }
+        return new DelegatingOAuth2TokenValidator<>(validators);
+    }
+}
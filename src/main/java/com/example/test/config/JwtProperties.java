@@ -0,0 +1,16 @@
+package com.example.test.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// Configure exactly one key source: jwksFile (RSA/EC public keys) or secret (HMAC, at least 32 bytes).
+@ConfigurationProperties("product.security.jwt")
+public record JwtProperties(Path jwksFile,
+                            String secret,
+                            String issuer,
+                            @DefaultValue("10000") int cacheSize,
+                            @DefaultValue("30s") Duration clockSkew) {
+}
@@ -0,0 +1,12 @@
+package com.example.test.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("product.purge")
+public record PurgeProperties(@DefaultValue("0 0 3 * * *") String cron,
+                              @DefaultValue("7d") Duration retention,
+                              @DefaultValue("1000") int batchSize) {
+}
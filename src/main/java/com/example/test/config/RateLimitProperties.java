@@ -0,0 +1,25 @@
+package com.example.test.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Set;
+
+// apiKeys lists the X-API-Key values that get a budget of their own; any other key is ignored and
+// the client is limited by remote address, so random keys cannot mint fresh buckets.
+// trustedProxies are exact addresses whose X-Forwarded-For is believed when finding that address.
+@ConfigurationProperties("product.rate-limit")
+public record RateLimitProperties(@DefaultValue("false") boolean enabled,
+                                  @DefaultValue("200") double readPermitsPerSecond,
+                                  @DefaultValue("400") int readBurst,
+                                  @DefaultValue("50") double writePermitsPerSecond,
+                                  @DefaultValue("100") int writeBurst,
+                                  @DefaultValue("10000") int maxClients,
+                                  @DefaultValue("4") int minConcurrency,
+                                  @DefaultValue("64") int readMaxConcurrency,
+                                  @DefaultValue("16") int writeMaxConcurrency,
+                                  @DefaultValue("250ms") Duration latencyThreshold,
+                                  @DefaultValue Set<String> apiKeys,
+                                  @DefaultValue Set<String> trustedProxies) {
+}
@@ -1,5 +1,6 @@
 package com.example.test.config;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -8,6 +9,8 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 
@@ -26,18 +29,33 @@ public class SecurityConfig {
             "/api/v1/products/**",
     };
 
+    private static final String[] WRITE_ROLES = {"ADMIN", "MANAGER"};
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        return http.csrf(AbstractHttpConfigurer::disable)
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, ObjectProvider<JwtDecoder> jwtDecoder,
+                                                   JwtAuthenticationConverter jwtAuthenticationConverter) throws Exception {
+        http.csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(authorizationManagerRequestMatcherRegistry ->
                         authorizationManagerRequestMatcherRegistry
-                                .requestMatchers(HttpMethod.DELETE, AUTH).hasAnyRole("ADMIN","MANAGER")
+                                .requestMatchers(HttpMethod.DELETE, AUTH).hasAnyRole(WRITE_ROLES)
+                                .requestMatchers(HttpMethod.POST, AUTH).hasAnyRole(WRITE_ROLES)
+                                .requestMatchers(HttpMethod.PUT, AUTH).hasAnyRole(WRITE_ROLES)
                                 .anyRequest().permitAll())
                 .sessionManagement(
                         httpSecuritySessionManagementConfigurer ->
                                 httpSecuritySessionManagementConfigurer.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .exceptionHandling(httpSecurityExceptionHandlingConfigurer ->
-                        httpSecurityExceptionHandlingConfigurer.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
-                .build();
+                        httpSecurityExceptionHandlingConfigurer.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)));
+
+        // Without a key source (see JwtConfig) no caller could ever hold a write role.
+        JwtDecoder decoder = jwtDecoder.getIfAvailable();
+        if (decoder == null) {
+            throw new IllegalStateException("Writes require a JWT key source: set product.security.jwt.jwks-file "
+                    + "or product.security.jwt.secret");
+        }
+        http.oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt
+                .decoder(decoder)
+                .jwtAuthenticationConverter(jwtAuthenticationConverter)));
+        return http.build();
     }
 }
@@ -0,0 +1,12 @@
+package com.example.test.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("product.stats")
+public record StatsProperties(@DefaultValue("5") int lowStockThreshold,
+                              @DefaultValue("100") int lowStockLimit,
+                              @DefaultValue("5m") Duration recomputeInterval) {
+}
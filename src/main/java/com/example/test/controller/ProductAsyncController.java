@@ -0,0 +1,41 @@
+package com.example.test.controller;
+
+
+import com.example.test.dto.CommandStatusDto;
+import com.example.test.dto.CreateProductDto;
+import com.example.test.dto.UpdateProductDto;
+import com.example.test.ingest.AsyncProductWriter;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/v1/products/async")
+public class ProductAsyncController {
+    private final AsyncProductWriter _asyncProductWriter;
+
+    public ProductAsyncController(AsyncProductWriter asyncProductWriter) {
+        _asyncProductWriter = asyncProductWriter;
+    }
+
+    @PostMapping
+    public ResponseEntity<CommandStatusDto> Create(@RequestBody @Valid CreateProductDto createProductDto) {
+        return Accepted(_asyncProductWriter.SubmitCreate(createProductDto));
+    }
+
+    @PutMapping
+    public ResponseEntity<CommandStatusDto> Update(@RequestBody @Valid UpdateProductDto updateProductDto) {
+        return Accepted(_asyncProductWriter.SubmitUpdate(updateProductDto));
+    }
+
+    @GetMapping("{id}")
+    public ResponseEntity<CommandStatusDto> GetStatus(@PathVariable String id) {
+        return ResponseEntity.ok(_asyncProductWriter.GetStatus(id));
+    }
+
+    private ResponseEntity<CommandStatusDto> Accepted(CommandStatusDto status) {
+        return ResponseEntity.accepted().location(URI.create("/api/v1/products/async/" + status.id())).body(status);
+    }
+}
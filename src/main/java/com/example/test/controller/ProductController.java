@@ -1,29 +1,62 @@
 package com.example.test.controller;
 
 
+import com.example.test.catalog.CatalogSnapshot;
+import com.example.test.catalog.ProductCatalog;
 import com.example.test.dto.CreateProductDto;
 import com.example.test.dto.ProductDto;
+import com.example.test.dto.ProductQueryDto;
+import com.example.test.dto.ProductQueryResultDto;
+import com.example.test.dto.ProductStatsDto;
 import com.example.test.dto.UpdateProductDto;
+import com.example.test.service.ProductQueryService;
 import com.example.test.service.ProductService;
+import com.example.test.service.ProductStatsService;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.net.URI;
 import java.util.List;
 
 @RestController
+@Validated
 @RequestMapping("/api/v1/products/")
 public class ProductController {
     private final ProductService _productService;
+    private final ProductCatalog _productCatalog;
+    private final ProductStatsService _productStatsService;
+    private final ProductQueryService _productQueryService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductCatalog productCatalog,
+                             ProductStatsService productStatsService, ProductQueryService productQueryService) {
         _productService = productService;
+        _productCatalog = productCatalog;
+        _productStatsService = productStatsService;
+        _productQueryService = productQueryService;
     }
 
     @GetMapping
-    public ResponseEntity<List<ProductDto>> GetAll() {
-        return ResponseEntity.ok(_productService.GetAll());
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = ProductDto.class))))
+    public void GetAll(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        CatalogSnapshot snapshot = _productCatalog.GetSnapshot();
+        if (snapshot != null) {
+            response.setContentLength(snapshot.JsonLength());
+            snapshot.WriteJson(response.getOutputStream());
+            return;
+        }
+        _productService.WriteAll(response.getOutputStream());
     }
 
     @PutMapping
@@ -31,6 +64,16 @@ public class ProductController {
         return ResponseEntity.ok(_productService.Update(updateProductDto));
     }
 
+    @GetMapping("stats")
+    public ResponseEntity<ProductStatsDto> GetStats() {
+        return ResponseEntity.ok(_productStatsService.GetStats());
+    }
+
+    @GetMapping("query")
+    public ResponseEntity<ProductQueryResultDto> Query(@Valid ProductQueryDto productQueryDto) {
+        return ResponseEntity.ok(_productQueryService.Query(productQueryDto));
+    }
+
     @GetMapping("{id}")
     public ResponseEntity<ProductDto> GetById(@PathVariable String id) {
         return ResponseEntity.ok(_productService.GetById(id));
@@ -41,6 +84,12 @@ public class ProductController {
         return ResponseEntity.created(URI.create("/api/v1/category")).body(_productService.Add(createProductDto));
     }
 
+    @DeleteMapping
+    public ResponseEntity<Void> DeleteAll(@RequestBody @NotEmpty List<String> ids) {
+        _productService.DeleteAll(ids);
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("{id}")
     public ResponseEntity<Void> Delete(@PathVariable String id) {
         _productService.Delete(id);
@@ -0,0 +1,24 @@
+package com.example.test.controller;
+
+import com.example.test.dto.ProductHistoryDto;
+import com.example.test.dto.ProductHistoryQueryDto;
+import com.example.test.service.ProductHistoryService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/products/{id}/history")
+public class ProductHistoryController {
+
+    private final ProductHistoryService _productHistoryService;
+
+    public ProductHistoryController(ProductHistoryService productHistoryService) {
+        _productHistoryService = productHistoryService;
+    }
+
+    @GetMapping
+    public ResponseEntity<ProductHistoryDto> GetHistory(@PathVariable String id, @Valid ProductHistoryQueryDto queryDto) {
+        return ResponseEntity.ok(_productHistoryService.GetHistory(id, queryDto));
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.test.controller;
+
+
+import com.example.test.dto.ImportStatusDto;
+import com.example.test.importer.ImportFormat;
+import com.example.test.importer.ImportJob;
+import com.example.test.importer.ProductImportService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/v1/products/import")
+public class ProductImportController {
+    private final ProductImportService _productImportService;
+
+    public ProductImportController(ProductImportService productImportService) {
+        _productImportService = productImportService;
+    }
+
+    // The request body is the file itself, streamed once to disk.
+    @PostMapping(consumes = {"text/csv", "application/x-ndjson", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<ImportStatusDto> Import(InputStream body,
+                                                  @RequestParam(defaultValue = "CSV") ImportFormat format) throws IOException {
+        ImportJob job = _productImportService.Start(body, format);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/products/import/" + job.GetId()))
+                .body(job.ToStatusDto());
+    }
+
+    @GetMapping("{id}")
+    public ResponseEntity<ImportStatusDto> GetStatus(@PathVariable String id) {
+        return ResponseEntity.ok(_productImportService.GetJob(id).ToStatusDto());
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.test.dto;
+
+public record CommandStatusDto(String id,
+                               String status,
+                               String productId,
+                               String error) {
+}
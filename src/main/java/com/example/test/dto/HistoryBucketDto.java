@@ -0,0 +1,13 @@
+package com.example.test.dto;
+
+import java.time.Instant;
+
+public record HistoryBucketDto(Instant start,
+                               long samples,
+                               double minPrice,
+                               double maxPrice,
+                               double lastPrice,
+                               int minStock,
+                               int maxStock,
+                               int lastStock) {
+}
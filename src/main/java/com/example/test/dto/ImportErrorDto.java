@@ -0,0 +1,5 @@
+package com.example.test.dto;
+
+public record ImportErrorDto(long line,
+                             String message) {
+}
@@ -0,0 +1,13 @@
+package com.example.test.dto;
+
+import java.util.List;
+
+public record ImportStatusDto(String id,
+                              String status,
+                              long linesRead,
+                              long created,
+                              long updated,
+                              long failed,
+                              String failure,
+                              List<ImportErrorDto> errors) {
+}
@@ -0,0 +1,6 @@
+package com.example.test.dto;
+
+public record LowStockProductDto(String id,
+                                 String name,
+                                 int stockQuantity) {
+}
@@ -0,0 +1,10 @@
+package com.example.test.dto;
+
+// Products with from <= price < to.
+public record PriceBucketDto(double from,
+                             double to,
+                             long count,
+                             double minPrice,
+                             double maxPrice,
+                             long totalStock) {
+}
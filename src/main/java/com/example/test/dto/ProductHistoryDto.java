@@ -0,0 +1,12 @@
+package com.example.test.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+// Buckets without samples are left out.
+public record ProductHistoryDto(String productId,
+                                Instant from,
+                                Instant to,
+                                long bucketMillis,
+                                List<HistoryBucketDto> buckets) {
+}
@@ -0,0 +1,12 @@
+package com.example.test.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+import java.time.Instant;
+
+// Query string of GET /api/v1/products/{id}/history: [from, to) split into at most `buckets` buckets.
+public record ProductHistoryQueryDto(Instant from,
+                                     Instant to,
+                                     @Min(1) @Max(10000) Integer buckets) {
+}
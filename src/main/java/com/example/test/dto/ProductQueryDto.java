@@ -0,0 +1,23 @@
+package com.example.test.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+
+// Query string of GET /api/v1/products/query. Every filter is optional; limit is the size of the
+// top-K list ordered by orderBy, and bucketWidth turns on grouping by price bucket.
+public record ProductQueryDto(Double minPrice,
+                              Double maxPrice,
+                              Integer minStock,
+                              Integer maxStock,
+                              String namePrefix,
+                              @Positive Double bucketWidth,
+                              OrderBy orderBy,
+                              Boolean descending,
+                              @Min(0) @Max(1000) Integer limit) {
+
+    public enum OrderBy {
+        PRICE,
+        STOCK
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.test.dto;
+
+import java.util.List;
+
+public record ProductQueryResultDto(long matched,
+                                    List<ProductDto> top,
+                                    List<PriceBucketDto> buckets) {
+}
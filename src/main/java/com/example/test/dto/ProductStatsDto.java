@@ -0,0 +1,12 @@
+package com.example.test.dto;
+
+import java.util.List;
+
+public record ProductStatsDto(long count,
+                              double totalInventoryValue,
+                              Double minPrice,
+                              Double maxPrice,
+                              Double avgPrice,
+                              int lowStockThreshold,
+                              List<LowStockProductDto> lowStock) {
+}
@@ -0,0 +1,20 @@
+package com.example.test.event;
+
+import com.example.test.dto.ProductDto;
+
+// Published by every product write once it is flushed; product is the new state, or null when the
+// product was deleted. version is the row's @Version; deletes are final and carry DELETED_VERSION.
+public record ProductChangedEvent(String id,
+                                  ProductDto product,
+                                  long version) {
+
+    public static final long DELETED_VERSION = Long.MAX_VALUE;
+
+    public static ProductChangedEvent Deleted(String id) {
+        return new ProductChangedEvent(id, null, DELETED_VERSION);
+    }
+
+    public boolean IsDeleted() {
+        return product == null;
+    }
+}
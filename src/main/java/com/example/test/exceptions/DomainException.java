@@ -0,0 +1,10 @@
+package com.example.test.exceptions;
+
+// Base for expected domain errors (misses, full queues). They are control flow, not bugs, so the
+// stack trace is never filled in: under enumeration traffic fillInStackTrace would dominate the miss path.
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
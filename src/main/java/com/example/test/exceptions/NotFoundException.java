@@ -1,5 +1,5 @@
 package com.example.test.exceptions;
-public class NotFoundException extends RuntimeException {
+public class NotFoundException extends DomainException {
 
     public NotFoundException(String message) {
         super(message);
@@ -0,0 +1,8 @@
+package com.example.test.exceptions;
+
+public class QueryTooLargeException extends DomainException {
+
+    public QueryTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.test.exceptions;
+
+public class QueueFullException extends DomainException {
+
+    public QueueFullException(String message) {
+        super(message);
+    }
+}
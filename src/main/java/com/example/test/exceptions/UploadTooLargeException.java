@@ -0,0 +1,8 @@
+package com.example.test.exceptions;
+
+public class UploadTooLargeException extends DomainException {
+
+    public UploadTooLargeException(String message) {
+        super(message);
+    }
+}
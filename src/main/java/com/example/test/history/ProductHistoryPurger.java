@@ -0,0 +1,51 @@
+package com.example.test.history;
+
+import com.example.test.config.HistoryProperties;
+import com.example.test.model.ProductHistory;
+import com.example.test.repository.ProductHistoryRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+
+// Deletes history samples older than product.history.retention, one short transaction per batch.
+@Component
+public class ProductHistoryPurger {
+
+    private final ProductHistoryRepository _productHistoryRepository;
+    private final HistoryProperties _properties;
+    private final Clock _clock;
+    private final TaskScheduler _scheduler;
+
+    public ProductHistoryPurger(ProductHistoryRepository productHistoryRepository, HistoryProperties properties,
+                                Clock clock, TaskScheduler scheduler) {
+        _productHistoryRepository = productHistoryRepository;
+        _properties = properties;
+        _clock = clock;
+        _scheduler = scheduler;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void OnApplicationReady() {
+        _scheduler.schedule(this::ScheduledPurge, new CronTrigger(_properties.purgeCron()));
+    }
+
+    public void ScheduledPurge() {
+        Purge(_clock.instant().minus(_properties.retention()));
+    }
+
+    public long Purge(Instant cutoff) {
+        long cutoffMicros = ProductHistory.EpochMicros(cutoff);
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = _productHistoryRepository.purgeRecordedBefore(cutoffMicros, _properties.purgeBatchSize());
+            purged += deleted;
+        } while (deleted == _properties.purgeBatchSize());
+        return purged;
+    }
+}
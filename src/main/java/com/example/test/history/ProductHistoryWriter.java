@@ -0,0 +1,136 @@
+package com.example.test.history;
+
+import com.example.test.config.HistoryProperties;
+import com.example.test.event.ProductChangedEvent;
+import com.example.test.model.ProductHistory;
+import com.example.test.repository.ProductHistoryRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Queues a price/stock sample per committed change for a background batch writer; full queue drops the sample.
+@Service
+public class ProductHistoryWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductHistoryWriter.class);
+    private static final long POLL_MILLIS = 100;
+
+    private final ProductHistoryRepository _productHistoryRepository;
+    private final HistoryProperties _properties;
+    private final Clock _clock;
+    private final BlockingQueue<ProductHistory> _queue;
+    private final ExecutorService _worker;  // null when history is disabled
+    private final AtomicLong _lastTimestamp = new AtomicLong();
+    private final AtomicLong _written = new AtomicLong();
+    private final AtomicLong _dropped = new AtomicLong();
+    private volatile boolean _drained = false;
+
+    public ProductHistoryWriter(ProductHistoryRepository productHistoryRepository, HistoryProperties properties, Clock clock) {
+        _productHistoryRepository = productHistoryRepository;
+        _properties = properties;
+        _clock = clock;
+        _queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+        if (properties.enabled()) {
+            _worker = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "product-history-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            _worker.execute(this::Work);
+        } else {
+            _worker = null;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void OnProductChanged(ProductChangedEvent event) {
+        if (!_properties.enabled() || event.IsDeleted()) {
+            return;
+        }
+        ProductHistory sample = new ProductHistory(event.id(), NextTimestamp(),
+                event.product().price(), event.product().stockQuantity());
+        if (!_queue.offer(sample)) {
+            _dropped.incrementAndGet();
+        }
+    }
+
+    public long GetWritten() {
+        return _written.get();
+    }
+
+    public long GetDropped() {
+        return _dropped.get();
+    }
+
+    // Epoch microseconds, strictly increasing across the process so two samples of the same
+    // product never collide on the (product_id, recorded_at) key.
+    long NextTimestamp() {
+        long now = ProductHistory.EpochMicros(_clock.instant());
+        return _lastTimestamp.accumulateAndGet(now, (last, candidate) -> Math.max(last + 1, candidate));
+    }
+
+    private void Work() {
+        List<ProductHistory> batch = new ArrayList<>(_properties.batchSize());
+        try {
+            while (true) {
+                ProductHistory first = _queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (_drained) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                _queue.drainTo(batch, _properties.batchSize() - 1);
+                Flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // A failed batch is retried one sample per transaction, so a bad row only drops itself.
+    void Flush(List<ProductHistory> batch) {
+        try {
+            _productHistoryRepository.saveAll(batch);
+            _written.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Product history batch of {} failed, retrying samples one by one", batch.size(), e);
+            for (ProductHistory sample : batch) {
+                try {
+                    _productHistoryRepository.save(sample);
+                    _written.incrementAndGet();
+                } catch (RuntimeException sampleError) {
+                    _dropped.incrementAndGet();
+                    log.warn("Dropped product history sample {}", sample, sampleError);
+                }
+            }
+        }
+    }
+
+    // Writes out what is already queued before the repository and datasource beans go away.
+    @PreDestroy
+    void Shutdown() throws InterruptedException {
+        _drained = true;
+        if (_worker == null) {
+            return;
+        }
+        _worker.shutdown();
+        if (!_worker.awaitTermination(_properties.shutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            _worker.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.test.importer;
+
+public enum ImportFormat {
+    // name,description,price,stockQuantity with a header row
+    CSV,
+    // one CreateProductDto JSON object per line
+    NDJSON
+}
@@ -0,0 +1,77 @@
+package com.example.test.importer;
+
+import com.example.test.dto.ImportErrorDto;
+import com.example.test.dto.ImportStatusDto;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ImportJob {
+
+    public enum Status {RUNNING, COMPLETED, FAILED}
+
+    private final String _id;
+    private final int _maxErrors;
+    private final AtomicLong _linesRead = new AtomicLong();
+    private final AtomicLong _created = new AtomicLong();
+    private final AtomicLong _updated = new AtomicLong();
+    private final AtomicLong _failed = new AtomicLong();
+    private final AtomicInteger _errorCount = new AtomicInteger();
+    private final Queue<ImportErrorDto> _errors = new ConcurrentLinkedQueue<>();
+    private volatile Status _status = Status.RUNNING;
+    private volatile String _failure;
+    private volatile long _finishedNanos;
+
+    public ImportJob(String id, int maxErrors) {
+        _id = id;
+        _maxErrors = maxErrors;
+    }
+
+    public String GetId() {
+        return _id;
+    }
+
+    public Status GetStatus() {
+        return _status;
+    }
+
+    void LinesRead(long count) {
+        _linesRead.addAndGet(count);
+    }
+
+    void Written(long created, long updated) {
+        _created.addAndGet(created);
+        _updated.addAndGet(updated);
+    }
+
+    void Error(long line, String message) {
+        _failed.incrementAndGet();
+        // Only the first errors are kept so a broken file can't grow the report without bound.
+        if (_errorCount.getAndIncrement() < _maxErrors) {
+            _errors.add(new ImportErrorDto(line, message));
+        }
+    }
+
+    void Complete() {
+        _finishedNanos = System.nanoTime();
+        _status = Status.COMPLETED;
+    }
+
+    void Fail(String failure) {
+        _failure = failure;
+        _finishedNanos = System.nanoTime();
+        _status = Status.FAILED;
+    }
+
+    boolean IsFinishedBefore(long nanos) {
+        return _status != Status.RUNNING && _finishedNanos - nanos < 0;
+    }
+
+    public ImportStatusDto ToStatusDto() {
+        return new ImportStatusDto(_id, _status.name(), _linesRead.get(), _created.get(), _updated.get(),
+                _failed.get(), _failure, List.copyOf(_errors));
+    }
+}
@@ -0,0 +1,393 @@
+package com.example.test.importer;
+
+import com.example.test.config.ImportProperties;
+import com.example.test.dto.CreateProductDto;
+import com.example.test.event.ProductChangedEvent;
+import com.example.test.exceptions.NotFoundException;
+import com.example.test.exceptions.UploadTooLargeException;
+import com.example.test.mapper.ProductMapper;
+import com.example.test.model.Product;
+import com.example.test.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+// Reader -> parser pool -> bounded queue -> single writer upserting by name, in file order.
+@Service
+public class ProductImportService {
+
+    private static final String[] CSV_HEADER = {"name", "description", "price", "stockQuantity"};
+
+    private final ProductRepository _productRepository;
+    private final ProductMapper _mapper;
+    private final Validator _validator;
+    private final ObjectMapper _objectMapper;
+    private final TransactionTemplate _transactionTemplate;
+    private final ImportProperties _properties;
+    private final ApplicationEventPublisher _eventPublisher;
+    private final ExecutorService _jobExecutor;
+    private final Map<String, ImportJob> _jobs = new ConcurrentHashMap<>();
+
+    public ProductImportService(ProductRepository productRepository, ProductMapper mapper, Validator validator,
+                                ObjectMapper objectMapper, TransactionTemplate transactionTemplate,
+                                ImportProperties properties, ApplicationEventPublisher eventPublisher) {
+        _productRepository = productRepository;
+        _mapper = mapper;
+        _validator = validator;
+        _objectMapper = objectMapper;
+        _transactionTemplate = transactionTemplate;
+        _properties = properties;
+        _eventPublisher = eventPublisher;
+        _jobExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "product-import"));
+    }
+
+    // Spools the upload to a temp file owned by the job; the file is deleted if the job never starts.
+    public ImportJob Start(InputStream body, ImportFormat format) throws IOException {
+        Path file = Files.createTempFile("product-import-", ".tmp");
+        boolean started = false;
+        try {
+            Spool(body, file);
+            ImportJob job = Start(file, format, true);
+            started = true;
+            return job;
+        } finally {
+            if (!started) {
+                DeleteQuietly(file);
+            }
+        }
+    }
+
+    public ImportJob Start(Path file, ImportFormat format, boolean deleteWhenDone) {
+        EvictFinishedJobs();
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), _properties.maxErrors());
+        _jobs.put(job.GetId(), job);
+        try {
+            _jobExecutor.execute(() -> {
+                try {
+                    Run(job, file, format);
+                } finally {
+                    if (deleteWhenDone) {
+                        DeleteQuietly(file);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            _jobs.remove(job.GetId());
+            throw e;
+        }
+        return job;
+    }
+
+    public ImportJob GetJob(String id) {
+        EvictFinishedJobs();
+        ImportJob job = _jobs.get(id);
+        if (job == null) {
+            throw new NotFoundException("Import (" + id + ") not found.");
+        }
+        return job;
+    }
+
+    // Finished jobs stay queryable for product.import.job-retention, then are forgotten.
+    private void EvictFinishedJobs() {
+        long cutoff = System.nanoTime() - _properties.jobRetention().toNanos();
+        _jobs.values().removeIf(job -> job.IsFinishedBefore(cutoff));
+    }
+
+    void Run(ImportJob job, Path file, ImportFormat format) {
+        int parserThreads = _properties.EffectiveParserThreads();
+        ExecutorService parsers = Executors.newFixedThreadPool(parserThreads);
+        ExecutorService writerExecutor = Executors.newSingleThreadExecutor();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             BufferedReader reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8), 1 << 16)) {
+            BlockingQueue<ParsedChunk> parsed = new ArrayBlockingQueue<>(_properties.queueCapacity());
+            Semaphore pendingChunks = new Semaphore(parserThreads * 2);
+            Future<?> writer = writerExecutor.submit(() -> {
+                Write(job, parsed, pendingChunks);
+                return null;
+            });
+            Pipeline pipeline = new Pipeline(job, format, parsers, parsed, pendingChunks, writer);
+
+            long lineNumber = 0;
+            if (format == ImportFormat.CSV) {
+                reader.readLine();
+                lineNumber++;
+            }
+
+            List<String> chunk = new ArrayList<>(_properties.batchSize());
+            long chunkStart = lineNumber + 1;
+            String line;
+            while ((line = reader.readLine()) != null && !writer.isDone()) {
+                lineNumber++;
+                chunk.add(line);
+                if (chunk.size() == _properties.batchSize()) {
+                    pipeline.Submit(chunk, chunkStart);
+                    chunk = new ArrayList<>(_properties.batchSize());
+                    chunkStart = lineNumber + 1;
+                }
+            }
+            if (!chunk.isEmpty()) {
+                pipeline.Submit(chunk, chunkStart);
+            }
+
+            parsers.shutdown();
+            parsers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            pipeline.Put(ParsedChunk.END);
+            writer.get();
+            job.Complete();
+        } catch (ExecutionException e) {
+            job.Fail(Message(e.getCause()));
+        } catch (IOException | RuntimeException e) {
+            job.Fail(Message(e));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.Fail("interrupted");
+        } finally {
+            parsers.shutdownNow();
+            writerExecutor.shutdownNow();
+        }
+    }
+
+    ParsedChunk Parse(ImportFormat format, List<String> lines, long firstLine, long sequence) {
+        List<CreateProductDto> products = new ArrayList<>(lines.size());
+        List<Long> productLines = new ArrayList<>(lines.size());
+        List<Long> errorLines = new ArrayList<>();
+        List<String> errorMessages = new ArrayList<>();
+
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                CreateProductDto product = format == ImportFormat.CSV ? ParseCsv(line) : _objectMapper.readValue(line, CreateProductDto.class);
+                Set<ConstraintViolation<CreateProductDto>> violations = _validator.validate(product);
+                if (violations.isEmpty()) {
+                    products.add(product);
+                    productLines.add(firstLine + i);
+                } else {
+                    errorLines.add(firstLine + i);
+                    errorMessages.add(FormatViolations(violations));
+                }
+            } catch (Exception e) {
+                errorLines.add(firstLine + i);
+                errorMessages.add(Message(e));
+            }
+        }
+        return new ParsedChunk(sequence, products, productLines, errorLines, errorMessages);
+    }
+
+    // Chunks wait here until every earlier one is applied; the permits cap the reorder buffer.
+    private void Write(ImportJob job, BlockingQueue<ParsedChunk> parsed, Semaphore pendingChunks)
+            throws InterruptedException {
+        Map<Long, ParsedChunk> reorder = new HashMap<>();
+        long next = 0;
+        while (true) {
+            ParsedChunk chunk = parsed.take();
+            if (chunk == ParsedChunk.END) {
+                if (!reorder.isEmpty()) {
+                    throw new IllegalStateException("Import chunk " + next + " was never parsed");
+                }
+                return;
+            }
+            reorder.put(chunk.sequence(), chunk);
+            for (ParsedChunk ready = reorder.remove(next); ready != null; ready = reorder.remove(++next)) {
+                Apply(job, ready);
+                pendingChunks.release();
+            }
+        }
+    }
+
+    private void Apply(ImportJob job, ParsedChunk chunk) {
+        for (int i = 0; i < chunk.errorLines().size(); i++) {
+            job.Error(chunk.errorLines().get(i), chunk.errorMessages().get(i));
+        }
+        if (!chunk.products().isEmpty()) {
+            _transactionTemplate.executeWithoutResult(status -> Upsert(job, chunk));
+        }
+    }
+
+    private void Upsert(ImportJob job, ParsedChunk chunk) {
+        // Later rows with the same name in one batch win, matching what replaying them one by one did.
+        Map<String, CreateProductDto> byName = new LinkedHashMap<>();
+        for (CreateProductDto product : chunk.products()) {
+            byName.put(product.name(), product);
+        }
+
+        Map<String, Product> existing = new HashMap<>();
+        Set<String> ambiguous = new HashSet<>();
+        for (Product product : _productRepository.findAllByNameIn(byName.keySet())) {
+            if (existing.putIfAbsent(product.getName(), product) != null) {
+                ambiguous.add(product.getName());
+            }
+        }
+        // Names are not unique, so a row matching several products is reported rather than guessed.
+        if (!ambiguous.isEmpty()) {
+            for (int i = 0; i < chunk.products().size(); i++) {
+                String name = chunk.products().get(i).name();
+                if (ambiguous.contains(name)) {
+                    job.Error(chunk.productLines().get(i), "ambiguous name: several products are named '" + name + "'");
+                }
+            }
+            byName.keySet().removeAll(ambiguous);
+        }
+
+        List<Product> toSave = new ArrayList<>(byName.size());
+        long created = 0;
+        for (CreateProductDto productDto : byName.values()) {
+            Product product = existing.get(productDto.name());
+            if (product == null) {
+                toSave.add(_mapper.MapToProduct(productDto));
+                created++;
+            } else {
+                _mapper.UpdateProduct(product, productDto);
+                toSave.add(product);
+            }
+        }
+        List<Product> saved = _productRepository.saveAll(toSave);
+        // Flushed first so updated rows publish their bumped version.
+        _productRepository.flush();
+        for (Product product : saved) {
+            _eventPublisher.publishEvent(new ProductChangedEvent(product.getId(), _mapper.MapToProductDto(product),
+                    product.getVersion()));
+        }
+        job.Written(created, toSave.size() - created);
+    }
+
+    private void Spool(InputStream body, Path file) throws IOException {
+        long maxBytes = _properties.maxUploadSize().toBytes();
+        byte[] buffer = new byte[1 << 16];
+        long total = 0;
+        try (OutputStream out = Files.newOutputStream(file)) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                total += read;
+                if (total > maxBytes) {
+                    throw new UploadTooLargeException("Import exceeds " + _properties.maxUploadSize() + ".");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private static String Message(Throwable e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+    }
+
+    private static CreateProductDto ParseCsv(String line) {
+        List<String> fields = CsvLineParser.Parse(line);
+        if (fields.size() != CSV_HEADER.length) {
+            throw new IllegalArgumentException("expected " + CSV_HEADER.length + " fields " + String.join(",", CSV_HEADER)
+                    + " but found " + fields.size());
+        }
+        return new CreateProductDto(fields.get(0), fields.get(1),
+                Double.parseDouble(fields.get(2).trim()), Integer.parseInt(fields.get(3).trim()));
+    }
+
+    private static String FormatViolations(Set<ConstraintViolation<CreateProductDto>> violations) {
+        StringBuilder message = new StringBuilder();
+        for (ConstraintViolation<CreateProductDto> violation : violations) {
+            if (!message.isEmpty()) {
+                message.append("; ");
+            }
+            message.append(violation.getPropertyPath()).append(": ").append(violation.getMessage());
+        }
+        return message.toString();
+    }
+
+    private static void DeleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+        }
+    }
+
+    @PreDestroy
+    void Shutdown() {
+        _jobExecutor.shutdownNow();
+    }
+
+    private class Pipeline {
+        private static final long POLL_MILLIS = 100;
+
+        private final ImportJob _job;
+        private final ImportFormat _format;
+        private final ExecutorService _parsers;
+        private final BlockingQueue<ParsedChunk> _parsed;
+        private final Semaphore _pendingChunks;
+        private final Future<?> _writer;
+        private long _nextSequence;
+
+        Pipeline(ImportJob job, ImportFormat format, ExecutorService parsers, BlockingQueue<ParsedChunk> parsed,
+                 Semaphore pendingChunks, Future<?> writer) {
+            _job = job;
+            _format = format;
+            _parsers = parsers;
+            _parsed = parsed;
+            _pendingChunks = pendingChunks;
+            _writer = writer;
+        }
+
+        void Submit(List<String> lines, long firstLine) throws InterruptedException {
+            // Back-pressure: the reader blocks here once the parsers and the writer fall behind.
+            while (!_pendingChunks.tryAcquire(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (_writer.isDone()) {
+                    return;
+                }
+            }
+            long sequence = _nextSequence++;
+            _parsers.execute(() -> {
+                boolean queued = false;
+                try {
+                    queued = Put(Parse(_format, lines, firstLine, sequence));
+                    _job.LinesRead(lines.size());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    // Once queued, the writer releases the permit after applying the chunk.
+                    if (!queued) {
+                        _pendingChunks.release();
+                    }
+                }
+            });
+        }
+
+        // Gives up instead of blocking forever when the writer has already stopped.
+        boolean Put(ParsedChunk chunk) throws InterruptedException {
+            while (!_parsed.offer(chunk, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (_writer.isDone()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    record ParsedChunk(long sequence, List<CreateProductDto> products, List<Long> productLines, List<Long> errorLines,
+                       List<String> errorMessages) {
+        static final ParsedChunk END = new ParsedChunk(-1, List.of(), List.of(), List.of(), List.of());
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.test.ingest;
+
+import com.example.test.config.AsyncWriteProperties;
+import com.example.test.dto.CommandStatusDto;
+import com.example.test.dto.CreateProductDto;
+import com.example.test.dto.ProductDto;
+import com.example.test.dto.UpdateProductDto;
+import com.example.test.exceptions.NotFoundException;
+import com.example.test.exceptions.QueueFullException;
+import com.example.test.service.ProductService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Bounded per-partition queues applied in batches; updates are partitioned by id so each id keeps its order.
+@Service
+public class AsyncProductWriter {
+
+    public enum Status {QUEUED, APPLIED, FAILED}
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncProductWriter.class);
+    private static final long POLL_MILLIS = 100;
+
+    private final ProductService _productService;
+    private final AsyncWriteProperties _properties;
+    private final List<BlockingQueue<Command>> _partitions;
+    private final List<Thread> _workers;
+    private final Map<String, CommandStatusDto> _statuses = new ConcurrentHashMap<>();
+    private final Queue<String> _statusOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger _statusCount = new AtomicInteger();
+    private final AtomicInteger _roundRobin = new AtomicInteger();
+    private final AtomicInteger _submitting = new AtomicInteger();
+    private volatile boolean _accepting = true;
+    private volatile boolean _drained = false;
+
+    public AsyncProductWriter(ProductService productService, AsyncWriteProperties properties) {
+        _productService = productService;
+        _properties = properties;
+
+        int workers = properties.workers();
+        int capacity = Math.max(1, properties.queueCapacity() / workers);
+        _partitions = new ArrayList<>(workers);
+        _workers = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            BlockingQueue<Command> partition = new ArrayBlockingQueue<>(capacity);
+            int index = i;
+            Thread worker = new Thread(() -> Work(partition, index), "product-async-writer-" + i);
+            _partitions.add(partition);
+            _workers.add(worker);
+            worker.start();
+        }
+    }
+
+    public CommandStatusDto SubmitCreate(CreateProductDto createProductDto) {
+        int partition = Math.floorMod(_roundRobin.getAndIncrement(), _partitions.size());
+        return Enqueue(new Command(UUID.randomUUID().toString(), createProductDto, null), partition);
+    }
+
+    public CommandStatusDto SubmitUpdate(UpdateProductDto updateProductDto) {
+        int partition = Math.floorMod(updateProductDto.id().hashCode(), _partitions.size());
+        return Enqueue(new Command(UUID.randomUUID().toString(), null, updateProductDto), partition);
+    }
+
+    public CommandStatusDto GetStatus(String id) {
+        CommandStatusDto status = _statuses.get(id);
+        if (status == null) {
+            throw new NotFoundException("Command (" + id + ") not found.");
+        }
+        return status;
+    }
+
+    private CommandStatusDto Enqueue(Command command, int partition) {
+        _submitting.incrementAndGet();
+        try {
+            if (!_accepting) {
+                throw new QueueFullException("Product writes are shutting down.");
+            }
+            // Recorded before the offer so a fast worker can't be overwritten by QUEUED.
+            CommandStatusDto queued = SetStatus(command, Status.QUEUED, command.ProductId(), null);
+            if (!_partitions.get(partition).offer(command)) {
+                _statuses.remove(command.id());
+                throw new QueueFullException("Product write queue is full.");
+            }
+            TrackStatus(command.id());
+            return queued;
+        } finally {
+            _submitting.decrementAndGet();
+        }
+    }
+
+    private void Work(BlockingQueue<Command> partition, int index) {
+        List<Command> batch = new ArrayList<>(_properties.batchSize());
+        try {
+            while (true) {
+                Command first = partition.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (_drained) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                partition.drainTo(batch, _properties.batchSize() - 1);
+                try {
+                    Apply(batch);
+                } catch (Throwable e) {
+                    // The batch fails, not the partition: a dead worker would leave its queue full forever.
+                    log.error("Async product write batch of {} failed on partition {}", batch.size(), index, e);
+                    FailQueued(batch, e);
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void FailQueued(List<Command> batch, Throwable error) {
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getName();
+        for (Command command : batch) {
+            CommandStatusDto status = _statuses.get(command.id());
+            if (status != null && Status.QUEUED.name().equals(status.status())) {
+                SetStatus(command, Status.FAILED, command.ProductId(), message);
+            }
+        }
+    }
+
+    void Apply(List<Command> batch) {
+        List<Command> creates = new ArrayList<>();
+        List<Command> updates = new ArrayList<>();
+        Map<String, UpdateProductDto> latest = new LinkedHashMap<>();
+        for (Command command : batch) {
+            if (command.create() != null) {
+                creates.add(command);
+            } else {
+                updates.add(command);
+                latest.put(command.update().id(), command.update());
+            }
+        }
+
+        if (!creates.isEmpty()) {
+            try {
+                List<CreateProductDto> createProductDtos = new ArrayList<>(creates.size());
+                for (Command command : creates) {
+                    createProductDtos.add(command.create());
+                }
+                List<ProductDto> created = _productService.AddAll(createProductDtos);
+                for (int i = 0; i < creates.size(); i++) {
+                    SetStatus(creates.get(i), Status.APPLIED, created.get(i).id(), null);
+                }
+            } catch (RuntimeException e) {
+                for (Command command : creates) {
+                    try {
+                        SetStatus(command, Status.APPLIED, _productService.Add(command.create()).id(), null);
+                    } catch (RuntimeException commandError) {
+                        SetStatus(command, Status.FAILED, null, commandError.getMessage());
+                    }
+                }
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            // Error per product id; absent means applied.
+            Map<String, String> errors = new HashMap<>();
+            try {
+                for (String productId : _productService.UpdateAll(latest.values())) {
+                    errors.put(productId, "Product (" + productId + ") not found.");
+                }
+            } catch (RuntimeException e) {
+                for (UpdateProductDto update : latest.values()) {
+                    try {
+                        _productService.Update(update);
+                    } catch (RuntimeException updateError) {
+                        errors.put(update.id(), updateError.getMessage());
+                    }
+                }
+            }
+            for (Command command : updates) {
+                String productId = command.ProductId();
+                String error = errors.get(productId);
+                SetStatus(command, error == null ? Status.APPLIED : Status.FAILED, productId, error);
+            }
+        }
+    }
+
+    private CommandStatusDto SetStatus(Command command, Status status, String productId, String error) {
+        CommandStatusDto commandStatus = new CommandStatusDto(command.id(), status.name(), productId, error);
+        _statuses.put(command.id(), commandStatus);
+        return commandStatus;
+    }
+
+    // Keeps at most statusCapacity lookups around; the oldest are forgotten first.
+    private void TrackStatus(String id) {
+        _statusOrder.add(id);
+        if (_statusCount.incrementAndGet() > _properties.statusCapacity()) {
+            String oldest = _statusOrder.poll();
+            if (oldest != null) {
+                _statuses.remove(oldest);
+                _statusCount.decrementAndGet();
+            }
+        }
+    }
+
+    // Drains what is already queued before the repository and datasource beans go away.
+    @PreDestroy
+    void Shutdown() throws InterruptedException {
+        _accepting = false;
+        while (_submitting.get() > 0) {
+            Thread.onSpinWait();
+        }
+        _drained = true;
+        long deadline = System.nanoTime() + _properties.shutdownTimeout().toNanos();
+        for (Thread worker : _workers) {
+            worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        }
+        for (Thread worker : _workers) {
+            worker.interrupt();
+        }
+    }
+
+    record Command(String id, CreateProductDto create, UpdateProductDto update) {
+        String ProductId() {
+            return update != null ? update.id() : null;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.test.invalidation;
+
+// Product `id` changed and its state as of `version` must be refetched.
+public record Invalidation(String id,
+                           long version) {
+}
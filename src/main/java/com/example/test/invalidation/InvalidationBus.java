@@ -0,0 +1,16 @@
+package com.example.test.invalidation;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+// Transport for invalidations between nodes. Delivery is best effort: batches may be lost,
+// duplicated or reordered, and a node may receive its own. Receivers order them by version.
+public interface InvalidationBus extends AutoCloseable {
+
+    void Publish(List<Invalidation> batch);
+
+    void Subscribe(Consumer<List<Invalidation>> handler);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,30 @@
+package com.example.test.invalidation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// In-process bus: every published batch is handed synchronously to every subscriber, the
+// publisher's own included. The default for a single node, and shared between nodes in tests.
+public class LoopbackInvalidationBus implements InvalidationBus {
+
+    private final List<Consumer<List<Invalidation>>> _handlers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void Publish(List<Invalidation> batch) {
+        List<Invalidation> delivered = List.copyOf(batch);
+        for (Consumer<List<Invalidation>> handler : _handlers) {
+            handler.accept(delivered);
+        }
+    }
+
+    @Override
+    public void Subscribe(Consumer<List<Invalidation>> handler) {
+        _handlers.add(handler);
+    }
+
+    @Override
+    public void close() {
+        _handlers.clear();
+    }
+}
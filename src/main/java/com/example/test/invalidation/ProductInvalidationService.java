@@ -0,0 +1,209 @@
+package com.example.test.invalidation;
+
+import com.example.test.config.InvalidationProperties;
+import com.example.test.event.ProductChangedEvent;
+import com.example.test.mapper.ProductMapper;
+import com.example.test.model.Product;
+import com.example.test.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Batches outbound invalidations; inbound ones are accepted only if newer than the last seen version
+// and their ids are refetched together after refetch-delay plus jitter.
+@Service
+public class ProductInvalidationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductInvalidationService.class);
+
+    private final InvalidationBus _bus;
+    private final ProductRepository _productRepository;
+    private final ProductMapper _mapper;
+    private final List<RemoteChangeListener> _listeners;
+    private final InvalidationProperties _properties;
+    private final ScheduledExecutorService _scheduler;
+
+    private final Map<String, Seen> _versions = new ConcurrentHashMap<>();
+    private final Object _lock = new Object();
+    private Map<String, Long> _outbox = new HashMap<>();
+    private Map<String, Long> _refetch = new HashMap<>();
+    private final AtomicBoolean _flushScheduled = new AtomicBoolean();
+    private final AtomicBoolean _refetchScheduled = new AtomicBoolean();
+
+    public ProductInvalidationService(InvalidationBus bus, ProductRepository productRepository, ProductMapper mapper,
+                                      List<RemoteChangeListener> listeners, InvalidationProperties properties) {
+        _bus = bus;
+        _productRepository = productRepository;
+        _mapper = mapper;
+        _listeners = listeners;
+        _properties = properties;
+        _scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "product-invalidation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (properties.enabled()) {
+            bus.Subscribe(this::OnInvalidations);
+            long retention = properties.versionRetention().toMillis();
+            _scheduler.scheduleWithFixedDelay(this::EvictVersions, retention, retention, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void OnProductChanged(ProductChangedEvent event) {
+        if (!_properties.enabled()) {
+            return;
+        }
+        // Recorded first so the echo of this change, and anything older, is ignored on receipt.
+        Observe(event.id(), event.version());
+        int pending;
+        synchronized (_lock) {
+            _outbox.merge(event.id(), event.version(), Math::max);
+            pending = _outbox.size();
+        }
+        if (pending >= _properties.batchSize()) {
+            _scheduler.execute(this::Flush);
+        } else if (_flushScheduled.compareAndSet(false, true)) {
+            _scheduler.schedule(this::Flush, _properties.batchInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void OnInvalidations(List<Invalidation> batch) {
+        boolean accepted = false;
+        synchronized (_lock) {
+            for (Invalidation invalidation : batch) {
+                if (Observe(invalidation.id(), invalidation.version())) {
+                    _refetch.merge(invalidation.id(), invalidation.version(), Math::max);
+                    accepted = true;
+                }
+            }
+        }
+        if (accepted && _refetchScheduled.compareAndSet(false, true)) {
+            long jitter = _properties.refetchJitter().isZero() ? 0
+                    : ThreadLocalRandom.current().nextLong(_properties.refetchJitter().toMillis() + 1);
+            _scheduler.schedule(this::Refetch, _properties.refetchDelay().toMillis() + jitter, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // True when version is newer than anything seen for the id, which then becomes the latest.
+    private boolean Observe(String id, long version) {
+        boolean[] newer = {false};
+        long now = System.nanoTime();
+        _versions.compute(id, (key, known) -> {
+            if (known == null || version > known.version()) {
+                newer[0] = true;
+                return new Seen(version, now);
+            }
+            return known;
+        });
+        return newer[0];
+    }
+
+    void EvictVersions() {
+        long cutoff = System.nanoTime() - _properties.versionRetention().toNanos();
+        _versions.values().removeIf(seen -> seen.atNanos() - cutoff < 0);
+    }
+
+    int GetTrackedVersions() {
+        return _versions.size();
+    }
+
+    void Flush() {
+        _flushScheduled.set(false);
+        Map<String, Long> outbox;
+        synchronized (_lock) {
+            if (_outbox.isEmpty()) {
+                return;
+            }
+            outbox = _outbox;
+            _outbox = new HashMap<>();
+        }
+        List<Invalidation> batch = new ArrayList<>(outbox.size());
+        outbox.forEach((id, version) -> batch.add(new Invalidation(id, version)));
+        try {
+            _bus.Publish(batch);
+        } catch (RuntimeException e) {
+            log.warn("Publishing {} product invalidations failed", batch.size(), e);
+        }
+    }
+
+    void Refetch() {
+        // Cleared before taking the ids so invalidations arriving meanwhile schedule another pass.
+        _refetchScheduled.set(false);
+        Map<String, Long> refetch;
+        synchronized (_lock) {
+            if (_refetch.isEmpty()) {
+                return;
+            }
+            refetch = _refetch;
+            _refetch = new HashMap<>();
+        }
+
+        List<ProductChangedEvent> changes = new ArrayList<>(refetch.size());
+        Set<String> ids = new HashSet<>();
+        refetch.forEach((id, version) -> {
+            if (version == ProductChangedEvent.DELETED_VERSION) {
+                changes.add(ProductChangedEvent.Deleted(id));
+            } else {
+                ids.add(id);
+            }
+        });
+        try {
+            if (!ids.isEmpty()) {
+                for (Product product : _productRepository.findAllById(List.copyOf(ids))) {
+                    ids.remove(product.getId());
+                    Observe(product.getId(), product.getVersion());
+                    changes.add(new ProductChangedEvent(product.getId(), _mapper.MapToProductDto(product),
+                            product.getVersion()));
+                }
+                // Not found any more: soft-deleted since the invalidation was sent.
+                for (String id : ids) {
+                    Observe(id, ProductChangedEvent.DELETED_VERSION);
+                    changes.add(ProductChangedEvent.Deleted(id));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Refetching {} invalidated products failed, retrying", refetch.size(), e);
+            synchronized (_lock) {
+                refetch.forEach((id, version) -> _refetch.merge(id, version, Math::max));
+            }
+            if (_refetchScheduled.compareAndSet(false, true)) {
+                _scheduler.schedule(this::Refetch, _properties.refetchDelay().toMillis(), TimeUnit.MILLISECONDS);
+            }
+            return;
+        }
+
+        for (RemoteChangeListener listener : _listeners) {
+            try {
+                listener.OnRemoteChanges(changes);
+            } catch (RuntimeException e) {
+                log.warn("Remote change listener {} failed", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    // Sends what is still queued so other nodes hear about the last local writes.
+    @PreDestroy
+    void Shutdown() {
+        _scheduler.shutdownNow();
+        Flush();
+    }
+
+    private record Seen(long version, long atNanos) {
+    }
+}
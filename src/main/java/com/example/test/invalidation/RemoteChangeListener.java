@@ -0,0 +1,12 @@
+package com.example.test.invalidation;
+
+import com.example.test.event.ProductChangedEvent;
+
+import java.util.List;
+
+// A node-local cache kept coherent with writes made on other nodes. Changes arrive in batches,
+// already refetched from the database, and are never older than what the cache has seen.
+public interface RemoteChangeListener {
+
+    void OnRemoteChanges(List<ProductChangedEvent> changes);
+}
@@ -0,0 +1,198 @@
+package com.example.test.invalidation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.SocketException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Datagram: int MAGIC, short count, (short id length, UTF-8 id, long version) per entry, HMAC-SHA256 tag.
+// Datagrams from non-peers, with a bad tag or that don't parse are dropped.
+public class UdpInvalidationBus implements InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(UdpInvalidationBus.class);
+
+    static final int MAGIC = 0x50494E56;
+    static final int MAX_DATAGRAM_BYTES = 1400;
+    static final int MIN_SECRET_BYTES = 32;
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAC_BYTES = 32;
+    private static final int HEADER_BYTES = Integer.BYTES + Short.BYTES;
+
+    private final DatagramSocket _socket;
+    private final List<InetSocketAddress> _peers;
+    private final Set<SocketAddress> _peerAddresses;
+    private final SecretKeySpec _key;
+    private final List<Consumer<List<Invalidation>>> _handlers = new CopyOnWriteArrayList<>();
+    private final Thread _receiver;
+
+    public UdpInvalidationBus(InetSocketAddress bindAddress, List<InetSocketAddress> peers, byte[] secret)
+            throws SocketException {
+        if (bindAddress.isUnresolved() || bindAddress.getAddress().isAnyLocalAddress()) {
+            throw new IllegalArgumentException("Invalidation bus must bind to one interface address, got " + bindAddress);
+        }
+        if (secret == null || secret.length < MIN_SECRET_BYTES) {
+            throw new IllegalArgumentException("Invalidation bus secret must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        _key = new SecretKeySpec(secret, MAC_ALGORITHM);
+        _peers = List.copyOf(peers);
+        _peerAddresses = Set.copyOf(peers);
+        _socket = new DatagramSocket(bindAddress);
+        _receiver = new Thread(this::Receive, "product-invalidation-udp");
+        _receiver.setDaemon(true);
+        _receiver.start();
+    }
+
+    public int GetLocalPort() {
+        return _socket.getLocalPort();
+    }
+
+    @Override
+    public void Publish(List<Invalidation> batch) {
+        Mac mac = NewMac();
+        for (byte[] payload : Encode(batch)) {
+            byte[] datagram = Arrays.copyOf(payload, payload.length + MAC_BYTES);
+            mac.update(payload);
+            try {
+                mac.doFinal(datagram, payload.length);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+            for (InetSocketAddress peer : _peers) {
+                try {
+                    _socket.send(new DatagramPacket(datagram, datagram.length, peer));
+                } catch (IOException e) {
+                    log.warn("Invalidation datagram to {} failed", peer, e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void Subscribe(Consumer<List<Invalidation>> handler) {
+        _handlers.add(handler);
+    }
+
+    @Override
+    public void close() {
+        _socket.close();
+    }
+
+    private void Receive() {
+        Mac mac = NewMac();
+        byte[] buffer = new byte[MAX_DATAGRAM_BYTES];
+        DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+        while (!_socket.isClosed()) {
+            try {
+                packet.setLength(buffer.length);
+                _socket.receive(packet);
+            } catch (IOException e) {
+                if (!_socket.isClosed()) {
+                    log.warn("Invalidation receive failed", e);
+                }
+                continue;
+            }
+            int length = packet.getLength() - MAC_BYTES;
+            if (!_peerAddresses.contains(packet.getSocketAddress()) || length < 0) {
+                continue;
+            }
+            mac.update(buffer, 0, length);
+            if (!MessageDigest.isEqual(mac.doFinal(), Arrays.copyOfRange(buffer, length, packet.getLength()))) {
+                continue;
+            }
+            List<Invalidation> batch = Decode(ByteBuffer.wrap(buffer, 0, length));
+            if (batch == null) {
+                continue;
+            }
+            for (Consumer<List<Invalidation>> handler : _handlers) {
+                try {
+                    handler.accept(batch);
+                } catch (RuntimeException e) {
+                    log.warn("Invalidation handler failed", e);
+                }
+            }
+        }
+    }
+
+    private Mac NewMac() {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(_key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Unsigned payloads, each leaving room for the tag within MAX_DATAGRAM_BYTES.
+    static List<byte[]> Encode(List<Invalidation> batch) {
+        List<byte[]> datagrams = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocate(MAX_DATAGRAM_BYTES - MAC_BYTES);
+        short count = 0;
+        buffer.position(HEADER_BYTES);
+        for (Invalidation invalidation : batch) {
+            byte[] id = invalidation.id().getBytes(StandardCharsets.UTF_8);
+            int size = Short.BYTES + id.length + Long.BYTES;
+            if (HEADER_BYTES + size > MAX_DATAGRAM_BYTES - MAC_BYTES) {
+                throw new UncheckedIOException(new IOException("Product id too long for an invalidation datagram"));
+            }
+            if (buffer.remaining() < size) {
+                datagrams.add(Finish(buffer, count));
+                buffer.clear();
+                buffer.position(HEADER_BYTES);
+                count = 0;
+            }
+            buffer.putShort((short) id.length).put(id).putLong(invalidation.version());
+            count++;
+        }
+        if (count > 0) {
+            datagrams.add(Finish(buffer, count));
+        }
+        return datagrams;
+    }
+
+    private static byte[] Finish(ByteBuffer buffer, short count) {
+        int length = buffer.position();
+        buffer.putInt(0, MAGIC).putShort(Integer.BYTES, count);
+        byte[] datagram = new byte[length];
+        buffer.get(0, datagram);
+        return datagram;
+    }
+
+    // Null when the datagram is not a well-formed invalidation batch.
+    static List<Invalidation> Decode(ByteBuffer buffer) {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                return null;
+            }
+            int count = buffer.getShort();
+            List<Invalidation> batch = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                byte[] id = new byte[buffer.getShort()];
+                buffer.get(id);
+                batch.add(new Invalidation(new String(id, StandardCharsets.UTF_8), buffer.getLong()));
+            }
+            return buffer.hasRemaining() ? null : batch;
+        } catch (BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+            return null;
+        }
+    }
+}
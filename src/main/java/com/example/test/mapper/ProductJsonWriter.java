@@ -0,0 +1,68 @@
+package com.example.test.mapper;
+
+
+import com.example.test.dto.ProductDto;
+import com.example.test.model.Product;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.IntFunction;
+
+// Streams entities straight to JSON with the same shape as ProductDto,
+// so list responses don't need an intermediate List<ProductDto>.
+@Component
+public class ProductJsonWriter {
+
+    private final JsonFactory _jsonFactory;
+
+    public ProductJsonWriter(ObjectMapper objectMapper) {
+        _jsonFactory = objectMapper.getFactory();
+    }
+
+    public void Write(List<Product> products, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = _jsonFactory.createGenerator(outputStream, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            for (Product product : products) {
+                WriteProduct(generator, product);
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    // Same output for products addressed by position, e.g. the columns of a catalog snapshot.
+    public void Write(int count, IntFunction<ProductDto> products, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = _jsonFactory.createGenerator(outputStream, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            for (int i = 0; i < count; i++) {
+                ProductDto product = products.apply(i);
+                WriteProduct(generator, product.id(), product.name(), product.description(), product.price(),
+                        product.stockQuantity());
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private void WriteProduct(JsonGenerator generator, Product product) throws IOException {
+        WriteProduct(generator, product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getStockQuantity());
+    }
+
+    private void WriteProduct(JsonGenerator generator, String id, String name, String description, double price,
+                              int stockQuantity) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", id);
+        generator.writeStringField("name", name);
+        generator.writeStringField("description", description);
+        generator.writeNumberField("price", price);
+        generator.writeNumberField("stockQuantity", stockQuantity);
+        generator.writeEndObject();
+    }
+}
@@ -3,6 +3,7 @@ package com.example.test.mapper;
 
 import com.example.test.dto.CreateProductDto;
 import com.example.test.dto.ProductDto;
+import com.example.test.dto.UpdateProductDto;
 import com.example.test.model.Product;
 import org.springframework.stereotype.Component;
 
@@ -23,4 +24,18 @@ public class ProductMapper {
         return product;
     }
 
+    public void UpdateProduct(Product product, UpdateProductDto productDto) {
+        product.setName(productDto.name());
+        product.setDescription(productDto.description());
+        product.setPrice(productDto.price());
+        product.setStockQuantity(productDto.stockQuantity());
+    }
+
+    public void UpdateProduct(Product product, CreateProductDto productDto) {
+        product.setName(productDto.name());
+        product.setDescription(productDto.description());
+        product.setPrice(productDto.price());
+        product.setStockQuantity(productDto.stockQuantity());
+    }
+
 }
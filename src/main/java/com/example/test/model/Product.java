@@ -4,9 +4,12 @@ package com.example.test.model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.UuidGenerator;
 
@@ -14,7 +17,14 @@ import java.time.ZonedDateTime;
 import java.util.UUID;
 
 @Entity
-@Data
+@Table(indexes = {
+        @Index(name = "idx_product_name", columnList = "name"),
+        @Index(name = "idx_product_deleted_at", columnList = "deletedAt")
+})
+@SQLRestriction("deleted_at IS NULL")
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -43,4 +53,25 @@ public class Product {
     @Column(nullable = false)
     private int stockQuantity;
 
+    // Soft delete tombstone; rows with a value are hidden from every query and purged later.
+    private ZonedDateTime deletedAt;
+
+    // Bumped by every update; carried in ProductChangedEvent so other nodes can order invalidations.
+    @Version
+    private long version;
+
+    // Identity equality: two entities are equal only when they share a non-null id.
+    // The hash code is constant per class so it stays stable across persist (id assignment).
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Product other)) return false;
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Product.class.hashCode();
+    }
+
 }
@@ -0,0 +1,55 @@
+package com.example.test.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+// One price/stock sample. Append-only and kept narrow: the primary key (product_id, recorded_at)
+// is the index range queries seek on, and the timestamp is stored as epoch microseconds. The
+// recorded_at index only serves the retention purge.
+@Entity
+@Table(name = "product_history", indexes = @Index(name = "ix_product_history_recorded_at", columnList = "recordedAt"))
+@IdClass(ProductHistoryId.class)
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductHistory implements Persistable<ProductHistoryId> {
+
+    @Id
+    @Column(length = 36)
+    private String productId;
+
+    @Id
+    private long recordedAt;
+
+    @Column(nullable = false)
+    private double price;
+
+    @Column(nullable = false)
+    private int stockQuantity;
+
+    @Override
+    public ProductHistoryId getId() {
+        return new ProductHistoryId(productId, recordedAt);
+    }
+
+    // Rows are never updated, so saveAll can persist without merge's select-before-insert.
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    public static long EpochMicros(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+    }
+
+    public static Instant FromEpochMicros(long micros) {
+        return Instant.ofEpochSecond(Math.floorDiv(micros, 1_000_000L), Math.floorMod(micros, 1_000_000L) * 1_000L);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.test.model;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ProductHistoryId implements Serializable {
+
+    private String productId;
+
+    private long recordedAt;
+}
@@ -0,0 +1,88 @@
+package com.example.test.query;
+
+// Bounded heap of row indices keeping the k best under `order`. The root is the worst kept row, so
+// a candidate costs one comparison unless it displaces it.
+final class IntTopK {
+
+    @FunctionalInterface
+    interface IndexOrder {
+        // Negative when row a ranks before row b.
+        int Compare(int a, int b);
+    }
+
+    private final int[] _heap;
+    private final IndexOrder _order;
+    private int _size;
+
+    IntTopK(int k, IndexOrder order) {
+        _heap = new int[k];
+        _order = order;
+    }
+
+    void Offer(int index) {
+        if (_size < _heap.length) {
+            _heap[_size] = index;
+            SiftUp(_size++);
+        } else if (_size > 0 && _order.Compare(index, _heap[0]) < 0) {
+            _heap[0] = index;
+            SiftDown(0);
+        }
+    }
+
+    void Merge(IntTopK other) {
+        for (int i = 0; i < other._size; i++) {
+            Offer(other._heap[i]);
+        }
+    }
+
+    int Size() {
+        return _size;
+    }
+
+    // Kept rows, best first. Drains the heap.
+    int[] Drain() {
+        int[] sorted = new int[_size];
+        while (_size > 0) {
+            sorted[_size - 1] = _heap[0];
+            _heap[0] = _heap[--_size];
+            SiftDown(0);
+        }
+        return sorted;
+    }
+
+    private void SiftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (_order.Compare(_heap[parent], _heap[i]) >= 0) {
+                return;
+            }
+            Swap(parent, i);
+            i = parent;
+        }
+    }
+
+    private void SiftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= _size) {
+                return;
+            }
+            int worst = left;
+            int right = left + 1;
+            if (right < _size && _order.Compare(_heap[right], _heap[left]) > 0) {
+                worst = right;
+            }
+            if (_order.Compare(_heap[worst], _heap[i]) <= 0) {
+                return;
+            }
+            Swap(worst, i);
+            i = worst;
+        }
+    }
+
+    private void Swap(int a, int b) {
+        int tmp = _heap[a];
+        _heap[a] = _heap[b];
+        _heap[b] = tmp;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.test.query;
+
+import com.example.test.dto.ProductQueryDto;
+import com.example.test.exceptions.QueryTooLargeException;
+
+// A ProductQueryDto with its defaults filled in. Absent bounds become open-ended values rather than
+// nulls so the in-memory predicate and the SQL one compare the same way.
+public record ProductQuery(double minPrice,
+                           double maxPrice,
+                           int minStock,
+                           int maxStock,
+                           String namePrefix,
+                           double bucketWidth,
+                           ProductQueryDto.OrderBy orderBy,
+                           boolean descending,
+                           int limit) {
+
+    public static final int DEFAULT_LIMIT = 10;
+    // A width that is tiny relative to the price range would otherwise turn every product into its
+    // own bucket; such queries are rejected as soon as either path sees one bucket too many.
+    public static final int MAX_BUCKETS = 1000;
+
+    public static ProductQuery Of(ProductQueryDto dto) {
+        return new ProductQuery(
+                dto.minPrice() == null ? -Double.MAX_VALUE : dto.minPrice(),
+                dto.maxPrice() == null ? Double.MAX_VALUE : dto.maxPrice(),
+                dto.minStock() == null ? Integer.MIN_VALUE : dto.minStock(),
+                dto.maxStock() == null ? Integer.MAX_VALUE : dto.maxStock(),
+                dto.namePrefix() == null ? "" : dto.namePrefix(),
+                dto.bucketWidth() == null ? 0 : dto.bucketWidth(),
+                dto.orderBy() == null ? ProductQueryDto.OrderBy.PRICE : dto.orderBy(),
+                dto.descending() == null || dto.descending(),
+                dto.limit() == null ? DEFAULT_LIMIT : dto.limit());
+    }
+
+    public boolean Matches(double price, int stockQuantity, String name) {
+        return price >= minPrice && price <= maxPrice
+                && stockQuantity >= minStock && stockQuantity <= maxStock
+                && name != null && name.startsWith(namePrefix);
+    }
+
+    public boolean Grouped() {
+        return bucketWidth > 0;
+    }
+
+    public QueryTooLargeException TooManyBuckets() {
+        return new QueryTooLargeException("bucketWidth " + bucketWidth + " yields more than " + MAX_BUCKETS
+                + " price buckets; use a wider bucket or a narrower price range.");
+    }
+
+    // Same expression as the SQL path: floor(price / width).
+    public long Bucket(double price) {
+        return (long) Math.floor(price / bucketWidth);
+    }
+}
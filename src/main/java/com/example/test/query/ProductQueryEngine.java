@@ -0,0 +1,154 @@
+package com.example.test.query;
+
+import com.example.test.catalog.CatalogSnapshot;
+import com.example.test.dto.PriceBucketDto;
+import com.example.test.dto.ProductDto;
+import com.example.test.dto.ProductQueryDto;
+import com.example.test.dto.ProductQueryResultDto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Fork-join scan of a ProductQuery over the snapshot columns; ordering ties are broken by id (row order).
+public final class ProductQueryEngine {
+
+    static final int LEAF_SIZE = 16_384;
+
+    private final ForkJoinPool _pool;
+
+    public ProductQueryEngine(ForkJoinPool pool) {
+        _pool = pool;
+    }
+
+    public ProductQueryResultDto Execute(CatalogSnapshot snapshot, ProductQuery query) {
+        Partial result = _pool.invoke(new Scan(snapshot, query, 0, snapshot.Size()));
+
+        List<ProductDto> top = new ArrayList<>(result._top.Size());
+        for (int index : result._top.Drain()) {
+            top.add(snapshot.Get(index));
+        }
+
+        List<PriceBucketDto> buckets = new ArrayList<>(result._buckets.size());
+        for (Map.Entry<Long, Bucket> entry : new TreeMap<>(result._buckets).entrySet()) {
+            buckets.add(entry.getValue().ToDto(entry.getKey(), query.bucketWidth()));
+        }
+        return new ProductQueryResultDto(result._matched, top, buckets);
+    }
+
+    static IntTopK.IndexOrder Order(CatalogSnapshot snapshot, ProductQuery query) {
+        boolean descending = query.descending();
+        if (query.orderBy() == ProductQueryDto.OrderBy.STOCK) {
+            return (a, b) -> {
+                int byStock = Integer.compare(snapshot.StockQuantity(a), snapshot.StockQuantity(b));
+                return byStock != 0 ? (descending ? -byStock : byStock) : Integer.compare(a, b);
+            };
+        }
+        return (a, b) -> {
+            int byPrice = Double.compare(snapshot.Price(a), snapshot.Price(b));
+            return byPrice != 0 ? (descending ? -byPrice : byPrice) : Integer.compare(a, b);
+        };
+    }
+
+    private static final class Scan extends RecursiveTask<Partial> {
+
+        private final CatalogSnapshot _snapshot;
+        private final ProductQuery _query;
+        private final int _from;
+        private final int _to;
+
+        Scan(CatalogSnapshot snapshot, ProductQuery query, int from, int to) {
+            _snapshot = snapshot;
+            _query = query;
+            _from = from;
+            _to = to;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (_to - _from <= LEAF_SIZE) {
+                return Leaf();
+            }
+            int middle = (_from + _to) >>> 1;
+            Scan left = new Scan(_snapshot, _query, _from, middle);
+            left.fork();
+            Partial right = new Scan(_snapshot, _query, middle, _to).compute();
+            Partial merged = left.join().Merge(right);
+            if (merged._buckets.size() > ProductQuery.MAX_BUCKETS) {
+                throw _query.TooManyBuckets();
+            }
+            return merged;
+        }
+
+        private Partial Leaf() {
+            Partial partial = new Partial(new IntTopK(_query.limit(), Order(_snapshot, _query)));
+            boolean grouped = _query.Grouped();
+            boolean byName = !_query.namePrefix().isEmpty();
+            for (int i = _from; i < _to; i++) {
+                double price = _snapshot.Price(i);
+                int stockQuantity = _snapshot.StockQuantity(i);
+                if (!_query.Matches(price, stockQuantity, byName ? _snapshot.Name(i) : "")) {
+                    continue;
+                }
+                partial._matched++;
+                partial._top.Offer(i);
+                if (grouped) {
+                    partial._buckets.computeIfAbsent(_query.Bucket(price), key -> new Bucket()).Add(price, stockQuantity);
+                    if (partial._buckets.size() > ProductQuery.MAX_BUCKETS) {
+                        throw _query.TooManyBuckets();
+                    }
+                }
+            }
+            return partial;
+        }
+    }
+
+    private static final class Partial {
+
+        private final IntTopK _top;
+        private final Map<Long, Bucket> _buckets = new HashMap<>();
+        private long _matched;
+
+        Partial(IntTopK top) {
+            _top = top;
+        }
+
+        Partial Merge(Partial other) {
+            _matched += other._matched;
+            _top.Merge(other._top);
+            other._buckets.forEach((key, bucket) -> _buckets.merge(key, bucket, Bucket::Merge));
+            return this;
+        }
+    }
+
+    private static final class Bucket {
+
+        private long _count;
+        private double _minPrice = Double.POSITIVE_INFINITY;
+        private double _maxPrice = Double.NEGATIVE_INFINITY;
+        private long _totalStock;
+
+        void Add(double price, int stockQuantity) {
+            _count++;
+            _minPrice = Math.min(_minPrice, price);
+            _maxPrice = Math.max(_maxPrice, price);
+            _totalStock += stockQuantity;
+        }
+
+        Bucket Merge(Bucket other) {
+            _count += other._count;
+            _minPrice = Math.min(_minPrice, other._minPrice);
+            _maxPrice = Math.max(_maxPrice, other._maxPrice);
+            _totalStock += other._totalStock;
+            return this;
+        }
+
+        PriceBucketDto ToDto(long key, double width) {
+            return new PriceBucketDto(key * width, (key + 1) * width, _count, _minPrice, _maxPrice, _totalStock);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.test.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// AIMD concurrency limit: grows by one while requests finish under the latency
+// target with the limit in use, and backs off multiplicatively on slow or failed requests.
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int _minLimit;
+    private final int _maxLimit;
+    private final long _latencyThresholdNanos;
+    private final AtomicInteger _limit;
+    private final AtomicInteger _inFlight = new AtomicInteger();
+
+    public AdaptiveConcurrencyLimiter(int minLimit, int maxLimit, long latencyThresholdNanos) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("limits must satisfy 1 <= minLimit <= maxLimit");
+        }
+        _minLimit = minLimit;
+        _maxLimit = maxLimit;
+        _latencyThresholdNanos = latencyThresholdNanos;
+        _limit = new AtomicInteger(maxLimit);
+    }
+
+    public boolean TryAcquire() {
+        while (true) {
+            int inFlight = _inFlight.get();
+            if (inFlight >= _limit.get()) {
+                return false;
+            }
+            if (_inFlight.compareAndSet(inFlight, inFlight + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void Release(long latencyNanos, boolean dropped) {
+        int inFlight = _inFlight.getAndDecrement();
+        if (dropped || latencyNanos > _latencyThresholdNanos) {
+            _limit.updateAndGet(limit -> Math.max(_minLimit, (int) (limit * BACKOFF_RATIO)));
+        } else if (inFlight * 2 >= _limit.get()) {
+            _limit.updateAndGet(limit -> Math.min(_maxLimit, limit + 1));
+        }
+    }
+
+    public int GetLimit() {
+        return _limit.get();
+    }
+
+    public int GetInFlight() {
+        return _inFlight.get();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.test.ratelimit;
+
+import com.example.test.config.RateLimitProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Rejects fast with 429 when a client exceeds its token bucket and with 503 when the
+// shared concurrency limit is reached. Reads and writes have separate budgets.
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+    public static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+    private static final String OVERFLOW_CLIENT = "*";
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final RateLimitProperties _properties;
+    private final ConcurrentMap<String, TokenBucket> _readBuckets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, TokenBucket> _writeBuckets = new ConcurrentHashMap<>();
+    private final AdaptiveConcurrencyLimiter _readLimiter;
+    private final AdaptiveConcurrencyLimiter _writeLimiter;
+    private final AtomicLong _nextSweep = new AtomicLong(System.nanoTime());
+
+    public RateLimitFilter(RateLimitProperties properties) {
+        _properties = properties;
+        long latencyThresholdNanos = properties.latencyThreshold().toNanos();
+        _readLimiter = new AdaptiveConcurrencyLimiter(properties.minConcurrency(), properties.readMaxConcurrency(), latencyThresholdNanos);
+        _writeLimiter = new AdaptiveConcurrencyLimiter(properties.minConcurrency(), properties.writeMaxConcurrency(), latencyThresholdNanos);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean write = IsWrite(request.getMethod());
+
+        if (!GetBucket(write, ClientKey(request), System.nanoTime()).TryAcquire()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            return;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = write ? _writeLimiter : _readLimiter;
+        if (!limiter.TryAcquire()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            limiter.Release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    private TokenBucket GetBucket(boolean write, String client, long nowNanos) {
+        ConcurrentMap<String, TokenBucket> buckets = write ? _writeBuckets : _readBuckets;
+        TokenBucket bucket = buckets.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= _properties.maxClients()) {
+            Sweep(nowNanos);
+        }
+        // Clients beyond the cap share one bucket until idle ones are swept, instead of growing the map without bound.
+        String key = buckets.size() < _properties.maxClients() ? client : OVERFLOW_CLIENT;
+        return buckets.computeIfAbsent(key, k -> write
+                ? new TokenBucket(_properties.writePermitsPerSecond(), _properties.writeBurst())
+                : new TokenBucket(_properties.readPermitsPerSecond(), _properties.readBurst()));
+    }
+
+    // Drops buckets that have refilled. At most one thread sweeps, and not more often than every
+    // SWEEP_INTERVAL_NANOS, so a full map of busy clients doesn't turn each new client into a scan.
+    private void Sweep(long nowNanos) {
+        long next = _nextSweep.get();
+        if (nowNanos - next < 0 || !_nextSweep.compareAndSet(next, nowNanos + SWEEP_INTERVAL_NANOS)) {
+            return;
+        }
+        _readBuckets.values().removeIf(bucket -> bucket.IsIdle(nowNanos));
+        _writeBuckets.values().removeIf(bucket -> bucket.IsIdle(nowNanos));
+    }
+
+    private String ClientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        return apiKey != null && _properties.apiKeys().contains(apiKey) ? apiKey : ClientAddress(request);
+    }
+
+    // The rightmost X-Forwarded-For hop not added by a trusted proxy; earlier hops are client-controlled.
+    private String ClientAddress(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        String forwardedFor = request.getHeader(FORWARDED_FOR_HEADER);
+        if (forwardedFor == null || !_properties.trustedProxies().contains(address)) {
+            return address;
+        }
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) {
+                break;
+            }
+            address = hop;
+            if (!_properties.trustedProxies().contains(hop)) {
+                break;
+            }
+        }
+        return address;
+    }
+
+    private static boolean IsWrite(String method) {
+        return !(HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.test.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket kept as a single "theoretical arrival time" (GCRA), so a permit
+// is one CAS on an AtomicLong and the bucket never takes a lock.
+public class TokenBucket {
+
+    private final long _intervalNanos;
+    private final long _burstNanos;
+    private final AtomicLong _theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond and burst must be positive");
+        }
+        _intervalNanos = Math.max(1L, (long) (1_000_000_000L / permitsPerSecond));
+        _burstNanos = _intervalNanos * burst;
+    }
+
+    public boolean TryAcquire() {
+        return TryAcquire(System.nanoTime());
+    }
+
+    // A bucket whose theoretical arrival time has passed is full again, i.e. indistinguishable
+    // from a new one, so it can be dropped without changing what its client is allowed.
+    public boolean IsIdle(long nowNanos) {
+        long arrival = _theoreticalArrival.get();
+        return arrival == Long.MIN_VALUE || arrival - nowNanos <= 0;
+    }
+
+    boolean TryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = _theoreticalArrival.get();
+            long next = Math.max(arrival, nowNanos) + _intervalNanos;
+            if (next - nowNanos > _burstNanos) {
+                return false;
+            }
+            if (_theoreticalArrival.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.test.repository;
+
+public interface ProductHistoryBucket {
+
+    long getBucket();
+
+    long getSamples();
+
+    double getMinPrice();
+
+    double getMaxPrice();
+
+    double getLastPrice();
+
+    int getMinStock();
+
+    int getMaxStock();
+
+    int getLastStock();
+}
@@ -0,0 +1,36 @@
+package com.example.test.repository;
+
+import com.example.test.model.ProductHistory;
+import com.example.test.model.ProductHistoryId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface ProductHistoryRepository extends JpaRepository<ProductHistory, ProductHistoryId> {
+
+    // Buckets of [from + bucket * width, from + (bucket + 1) * width) ordered by bucket. The inner
+    // aggregate is a range seek on the (product_id, recorded_at) primary key, and the last sample of
+    // each bucket is one more key lookup, so only one row per bucket leaves the database.
+    @Query(value = "select b.bucket as bucket, b.samples as samples," +
+            " b.min_price as minPrice, b.max_price as maxPrice, h.price as lastPrice," +
+            " b.min_stock as minStock, b.max_stock as maxStock, h.stock_quantity as lastStock from" +
+            " (select bucket, count(*) as samples, min(price) as min_price, max(price) as max_price," +
+            " min(stock_quantity) as min_stock, max(stock_quantity) as max_stock, max(recorded_at) as last_at from" +
+            " (select (recorded_at - :from) / :width as bucket, recorded_at, price, stock_quantity" +
+            " from product_history where product_id = :productId and recorded_at >= :from and recorded_at < :to) s" +
+            " group by bucket) b" +
+            " join product_history h on h.product_id = :productId and h.recorded_at = b.last_at" +
+            " order by b.bucket", nativeQuery = true)
+    List<ProductHistoryBucket> findBuckets(String productId, long from, long to, long width);
+
+    // Served by the recorded_at index; one short transaction per batch, like the product purge.
+    @Transactional
+    @Modifying
+    @Query(value = "delete from product_history where (product_id, recorded_at) in " +
+            "(select product_id, recorded_at from product_history where recorded_at < :cutoff" +
+            " order by recorded_at limit :batchSize)", nativeQuery = true)
+    int purgeRecordedBefore(long cutoff, int batchSize);
+}
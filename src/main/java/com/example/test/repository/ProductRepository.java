@@ -1,7 +1,68 @@
 package com.example.test.repository;
 
 import com.example.test.model.Product;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface ProductRepository extends JpaRepository<Product, String> {
+
+    List<Product> findAllByNameIn(Collection<String> names);
+
+    @Query("select p.id as id, p.name as name, p.price as price, p.stockQuantity as stockQuantity," +
+            " p.version as version from Product p")
+    List<ProductStockView> findAllStockViews();
+
+    // SQL form of the in-memory query engine's predicate; namePattern is an escaped LIKE prefix.
+    String QUERY_PREDICATE = "p.price >= :minPrice and p.price <= :maxPrice" +
+            " and p.stockQuantity >= :minStock and p.stockQuantity <= :maxStock" +
+            " and p.name like :namePattern escape '!'";
+
+    @Query("select count(p) from Product p where " + QUERY_PREDICATE)
+    long countMatching(double minPrice, double maxPrice, int minStock, int maxStock, String namePattern);
+
+    @Query("select p from Product p where " + QUERY_PREDICATE)
+    List<Product> findMatching(double minPrice, double maxPrice, int minStock, int maxStock, String namePattern,
+                               Pageable pageable);
+
+    // Rows of [bucket, count, min price, max price, total stock] ordered by bucket, at most maxBuckets.
+    @Query(value = "select bucket, count(*), min(price), max(price), sum(stock_quantity) from " +
+            "(select floor(price / :width) as bucket, price, stock_quantity from product" +
+            " where deleted_at is null and price >= :minPrice and price <= :maxPrice" +
+            " and stock_quantity >= :minStock and stock_quantity <= :maxStock" +
+            " and name like :namePattern escape '!') b" +
+            " group by bucket order by bucket limit :maxBuckets", nativeQuery = true)
+    List<Object[]> groupMatchingByPriceBucket(double width, double minPrice, double maxPrice, int minStock,
+                                              int maxStock, String namePattern, int maxBuckets);
+
+    @Transactional
+    @Modifying
+    @Query("update Product p set p.deletedAt = :now, p.updateAt = :now, p.version = p.version + 1" +
+            " where p.id = :id and p.deletedAt is null")
+    int softDeleteById(String id, ZonedDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p.id from Product p where p.id in :ids and p.deletedAt is null")
+    List<String> findLiveIdsForUpdate(Collection<String> ids);
+
+    @Transactional
+    @Modifying
+    @Query("update Product p set p.deletedAt = :now, p.updateAt = :now, p.version = p.version + 1" +
+            " where p.id in :ids and p.deletedAt is null")
+    int softDeleteAllById(Collection<String> ids, ZonedDateTime now);
+
+    // Native so the entity's deleted_at IS NULL restriction doesn't hide the tombstones.
+    @Transactional
+    @Modifying
+    @Query(value = "delete from product where id in " +
+            "(select id from product where deleted_at < :cutoff order by deleted_at limit :batchSize)", nativeQuery = true)
+    int purgeDeletedBefore(ZonedDateTime cutoff, int batchSize);
 }
@@ -0,0 +1,14 @@
+package com.example.test.repository;
+
+public interface ProductStockView {
+
+    String getId();
+
+    String getName();
+
+    double getPrice();
+
+    int getStockQuantity();
+
+    long getVersion();
+}
@@ -0,0 +1,115 @@
+package com.example.test.security;
+
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bounded cache of verified tokens keyed by their SHA-256; expired and least recently used entries are dropped.
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder _delegate;
+    private final int _maxSize;
+    private final Duration _clockSkew;
+    private final Clock _clock;
+    private final Map<String, Entry> _cache = new ConcurrentHashMap<>();
+    private final AtomicLong _ticks = new AtomicLong();
+    private final AtomicBoolean _evicting = new AtomicBoolean();
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxSize, Duration clockSkew) {
+        this(delegate, maxSize, clockSkew, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, int maxSize, Duration clockSkew, Clock clock) {
+        _delegate = delegate;
+        _maxSize = maxSize;
+        _clockSkew = clockSkew;
+        _clock = clock;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Instant now = _clock.instant();
+        String key = Hash(token);
+        Entry cached = _cache.get(key);
+        if (cached != null) {
+            if (!IsExpired(cached._jwt, now)) {
+                cached._lastUsed = _ticks.incrementAndGet();
+                return cached._jwt;
+            }
+            _cache.remove(key, cached);
+            throw new BadJwtException("Jwt expired at " + cached._jwt.getExpiresAt());
+        }
+
+        Jwt jwt = _delegate.decode(token);
+        _cache.put(key, new Entry(jwt, _ticks.incrementAndGet()));
+        if (_cache.size() > _maxSize) {
+            Evict();
+        }
+        return jwt;
+    }
+
+    public int Size() {
+        return _cache.size();
+    }
+
+    // Racing inserts may briefly overshoot maxSize; the thread that wins the flag trims it back.
+    private void Evict() {
+        if (!_evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int excess = _cache.size() - _maxSize;
+            if (excess <= 0) {
+                return;
+            }
+            List<Map.Entry<String, Entry>> entries = new ArrayList<>(_cache.entrySet());
+            entries.sort((a, b) -> Long.compare(a.getValue()._lastUsed, b.getValue()._lastUsed));
+            int remove = Math.min(entries.size(), Math.max(excess, _maxSize / 10));
+            for (int i = 0; i < remove; i++) {
+                _cache.remove(entries.get(i).getKey(), entries.get(i).getValue());
+            }
+        } finally {
+            _evicting.set(false);
+        }
+    }
+
+    private boolean IsExpired(Jwt jwt, Instant now) {
+        Instant expiresAt = jwt.getExpiresAt();
+        return expiresAt != null && now.minus(_clockSkew).isAfter(expiresAt);
+    }
+
+    private static String Hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Entry {
+
+        private final Jwt _jwt;
+        private volatile long _lastUsed;
+
+        private Entry(Jwt jwt, long lastUsed) {
+            _jwt = jwt;
+            _lastUsed = lastUsed;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.test.service;
+
+import com.example.test.config.HistoryProperties;
+import com.example.test.dto.HistoryBucketDto;
+import com.example.test.dto.ProductHistoryDto;
+import com.example.test.dto.ProductHistoryQueryDto;
+import com.example.test.model.ProductHistory;
+import com.example.test.repository.ProductHistoryBucket;
+import com.example.test.repository.ProductHistoryRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Downsampled price/stock series. The bucketing runs in the database, so a long range costs one
+// key range seek and returns one row per non-empty bucket instead of every raw sample.
+@Service
+public class ProductHistoryService {
+
+    public static final int DEFAULT_BUCKETS = 100;
+
+    private static final long MICROS_PER_MILLI = 1_000;
+
+    private final ProductHistoryRepository _productHistoryRepository;
+    private final HistoryProperties _properties;
+    private final Clock _clock;
+
+    public ProductHistoryService(ProductHistoryRepository productHistoryRepository, HistoryProperties properties, Clock clock) {
+        _productHistoryRepository = productHistoryRepository;
+        _properties = properties;
+        _clock = clock;
+    }
+
+    public ProductHistoryDto GetHistory(String productId, ProductHistoryQueryDto queryDto) {
+        Instant to = queryDto.to() != null ? queryDto.to() : _clock.instant();
+        Instant from = queryDto.from() != null ? queryDto.from() : to.minus(_properties.defaultRange());
+        int buckets = queryDto.buckets() != null ? queryDto.buckets() : DEFAULT_BUCKETS;
+
+        long fromMicros = ProductHistory.EpochMicros(from);
+        long toMicros = ProductHistory.EpochMicros(to);
+        if (toMicros <= fromMicros) {
+            return new ProductHistoryDto(productId, from, to, 0, List.of());
+        }
+        // Whole milliseconds, rounded up so `buckets` buckets always cover the range.
+        long widthMillis = Math.max(1, CeilDiv(CeilDiv(toMicros - fromMicros, buckets), MICROS_PER_MILLI));
+        long width = widthMillis * MICROS_PER_MILLI;
+
+        List<ProductHistoryBucket> rows = _productHistoryRepository.findBuckets(productId, fromMicros, toMicros, width);
+        List<HistoryBucketDto> series = new ArrayList<>(rows.size());
+        for (ProductHistoryBucket row : rows) {
+            series.add(new HistoryBucketDto(ProductHistory.FromEpochMicros(fromMicros + row.getBucket() * width),
+                    row.getSamples(), row.getMinPrice(), row.getMaxPrice(), row.getLastPrice(),
+                    row.getMinStock(), row.getMaxStock(), row.getLastStock()));
+        }
+        return new ProductHistoryDto(productId, from, to, widthMillis, series);
+    }
+
+    private static long CeilDiv(long dividend, long divisor) {
+        return (dividend + divisor - 1) / divisor;
+    }
+}
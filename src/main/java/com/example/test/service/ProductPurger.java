@@ -0,0 +1,46 @@
+package com.example.test.service;
+
+
+import com.example.test.config.PurgeProperties;
+import com.example.test.repository.ProductRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+
+import java.time.ZonedDateTime;
+
+// Hard-deletes soft-deleted products older than the retention, one short transaction per batch.
+@Component
+public class ProductPurger {
+
+    private final ProductRepository _productRepository;
+    private final PurgeProperties _properties;
+    private final TaskScheduler _scheduler;
+
+    public ProductPurger(ProductRepository productRepository, PurgeProperties properties, TaskScheduler scheduler) {
+        _productRepository = productRepository;
+        _properties = properties;
+        _scheduler = scheduler;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void OnApplicationReady() {
+        _scheduler.schedule(this::ScheduledPurge, new CronTrigger(_properties.cron()));
+    }
+
+    public void ScheduledPurge() {
+        Purge(ZonedDateTime.now().minus(_properties.retention()));
+    }
+
+    public long Purge(ZonedDateTime cutoff) {
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = _productRepository.purgeDeletedBefore(cutoff, _properties.batchSize());
+            purged += deleted;
+        } while (deleted == _properties.batchSize());
+        return purged;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.test.service;
+
+import com.example.test.catalog.CatalogSnapshot;
+import com.example.test.catalog.ProductCatalog;
+import com.example.test.dto.PriceBucketDto;
+import com.example.test.dto.ProductDto;
+import com.example.test.dto.ProductQueryDto;
+import com.example.test.dto.ProductQueryResultDto;
+import com.example.test.mapper.ProductMapper;
+import com.example.test.model.Product;
+import com.example.test.query.ProductQuery;
+import com.example.test.query.ProductQueryEngine;
+import com.example.test.repository.ProductRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+// Filtering, top-K and price-bucket aggregation. Evaluated in memory by ProductQueryEngine over the
+// catalog snapshot when product.catalog.enabled is set, otherwise pushed down to the database with
+// the equivalent SQL.
+@Service
+public class ProductQueryService {
+
+    private final ProductCatalog _productCatalog;
+    private final ProductRepository _productRepository;
+    private final ProductMapper _mapper;
+    private final ProductQueryEngine _engine = new ProductQueryEngine(ForkJoinPool.commonPool());
+
+    public ProductQueryService(ProductCatalog productCatalog, ProductRepository productRepository, ProductMapper mapper) {
+        _productCatalog = productCatalog;
+        _productRepository = productRepository;
+        _mapper = mapper;
+    }
+
+    public ProductQueryResultDto Query(ProductQueryDto queryDto) {
+        ProductQuery query = ProductQuery.Of(queryDto);
+        CatalogSnapshot snapshot = _productCatalog.GetSnapshot();
+        return snapshot != null ? _engine.Execute(snapshot, query) : QueryDatabase(query);
+    }
+
+    ProductQueryResultDto QueryDatabase(ProductQuery query) {
+        String namePattern = LikePrefix(query.namePrefix());
+        long matched = _productRepository.countMatching(query.minPrice(), query.maxPrice(),
+                query.minStock(), query.maxStock(), namePattern);
+
+        List<ProductDto> top = new ArrayList<>(query.limit());
+        if (query.limit() > 0 && matched > 0) {
+            Sort sort = Sort.by(query.descending() ? Sort.Direction.DESC : Sort.Direction.ASC,
+                            query.orderBy() == ProductQueryDto.OrderBy.STOCK ? "stockQuantity" : "price")
+                    .and(Sort.by("id"));
+            for (Product product : _productRepository.findMatching(query.minPrice(), query.maxPrice(),
+                    query.minStock(), query.maxStock(), namePattern, PageRequest.of(0, query.limit(), sort))) {
+                top.add(_mapper.MapToProductDto(product));
+            }
+        }
+
+        List<PriceBucketDto> buckets = new ArrayList<>();
+        if (query.Grouped() && matched > 0) {
+            List<Object[]> rows = _productRepository.groupMatchingByPriceBucket(query.bucketWidth(), query.minPrice(),
+                    query.maxPrice(), query.minStock(), query.maxStock(), namePattern, ProductQuery.MAX_BUCKETS + 1);
+            if (rows.size() > ProductQuery.MAX_BUCKETS) {
+                throw query.TooManyBuckets();
+            }
+            for (Object[] row : rows) {
+                long bucket = ((Number) row[0]).longValue();
+                buckets.add(new PriceBucketDto(bucket * query.bucketWidth(), (bucket + 1) * query.bucketWidth(),
+                        ((Number) row[1]).longValue(), ((Number) row[2]).doubleValue(),
+                        ((Number) row[3]).doubleValue(), ((Number) row[4]).longValue()));
+            }
+        }
+        return new ProductQueryResultDto(matched, top, buckets);
+    }
+
+    private static String LikePrefix(String prefix) {
+        return prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+}
@@ -4,61 +4,144 @@ package com.example.test.service;
 import com.example.test.dto.CreateProductDto;
 import com.example.test.dto.ProductDto;
 import com.example.test.dto.UpdateProductDto;
+import com.example.test.event.ProductChangedEvent;
 import com.example.test.exceptions.NotFoundException;
+import com.example.test.mapper.ProductJsonWriter;
 import com.example.test.mapper.ProductMapper;
 import com.example.test.model.Product;
 import com.example.test.repository.ProductRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class ProductService {
 
     private final ProductRepository _productRepository;
     private final ProductMapper _mapper;
+    private final ProductJsonWriter _jsonWriter;
+    private final ApplicationEventPublisher _eventPublisher;
 
-    public ProductService(ProductRepository productRepository, ProductMapper mapper) {
+    public ProductService(ProductRepository productRepository, ProductMapper mapper, ProductJsonWriter jsonWriter,
+                          ApplicationEventPublisher eventPublisher) {
         _productRepository = productRepository;
         _mapper = mapper;
+        _jsonWriter = jsonWriter;
+        _eventPublisher = eventPublisher;
     }
 
     public List<ProductDto> GetAll() {
         List<Product> listProducts = _productRepository.findAll();
-        List<ProductDto> listProductDto = listProducts.stream().map(x -> _mapper.MapToProductDto(x)).collect(Collectors.toList());
+        List<ProductDto> listProductDto = new ArrayList<>(listProducts.size());
+        for (Product product : listProducts) {
+            listProductDto.add(_mapper.MapToProductDto(product));
+        }
         return listProductDto;
     }
 
+    public void WriteAll(OutputStream outputStream) throws IOException {
+        _jsonWriter.Write(_productRepository.findAll(), outputStream);
+    }
+
     public ProductDto GetById(String Id) {
         Product product = FindById(Id);
         ProductDto produtDto = _mapper.MapToProductDto(product);
         return produtDto;
     }
 
+    // Transactional so the loaded entity stays managed: save() then skips the merge, which would
+    // otherwise select the row a second time, and the change is flushed as a single update.
+    // Flushed before publishing so the event carries the bumped version.
+    @Transactional
     public ProductDto Update(UpdateProductDto updateProductDto) {
         Product product = FindById(updateProductDto.id());
 
-        product.setName(updateProductDto.name());
-        product.setDescription(updateProductDto.description());
-        product.setPrice(updateProductDto.price());
-        product.setStockQuantity(updateProductDto.stockQuantity());
-
-        _productRepository.save(product);
+        _mapper.UpdateProduct(product, updateProductDto);
 
-        ProductDto productDto = _mapper.MapToProductDto(product);
+        Product saved = _productRepository.save(product);
+        _productRepository.flush();
+        ProductDto productDto = _mapper.MapToProductDto(saved);
+        Changed(productDto, saved.getVersion());
         return productDto;
     }
 
     public ProductDto Add(CreateProductDto productDto) {
         Product product = _productRepository.save(_mapper.MapToProduct(productDto));
-        return _mapper.MapToProductDto(product);
+        ProductDto result = _mapper.MapToProductDto(product);
+        Changed(result, product.getVersion());
+        return result;
+    }
+
+    @Transactional
+    public List<ProductDto> AddAll(List<CreateProductDto> productDtos) {
+        List<Product> products = new ArrayList<>(productDtos.size());
+        for (CreateProductDto productDto : productDtos) {
+            products.add(_mapper.MapToProduct(productDto));
+        }
+        List<ProductDto> result = new ArrayList<>(products.size());
+        for (Product product : _productRepository.saveAll(products)) {
+            ProductDto productDto = _mapper.MapToProductDto(product);
+            result.add(productDto);
+            Changed(productDto, product.getVersion());
+        }
+        return result;
+    }
 
+    // Applies the updates in one transaction and returns the ids that were not found.
+    @Transactional
+    public Set<String> UpdateAll(Collection<UpdateProductDto> updateProductDtos) {
+        Map<String, UpdateProductDto> byId = new HashMap<>();
+        for (UpdateProductDto updateProductDto : updateProductDtos) {
+            byId.put(updateProductDto.id(), updateProductDto);
+        }
+        List<Product> products = _productRepository.findAllById(byId.keySet());
+        for (Product product : products) {
+            _mapper.UpdateProduct(product, byId.remove(product.getId()));
+        }
+        List<Product> saved = _productRepository.saveAll(products);
+        _productRepository.flush();
+        for (Product product : saved) {
+            Changed(_mapper.MapToProductDto(product), product.getVersion());
+        }
+        return byId.keySet();
     }
 
     public void Delete(String Id) {
-        Product product = FindById(Id);
-        _productRepository.delete(product);
+        if (_productRepository.softDeleteById(Id, ZonedDateTime.now()) == 0) {
+            throw new NotFoundException("Product (" + Id + ") not found.");
+        }
+        Deleted(Id);
+    }
+
+    @Transactional
+    public int DeleteAll(List<String> ids) {
+        List<String> liveIds = _productRepository.findLiveIdsForUpdate(ids);
+        if (liveIds.isEmpty()) {
+            return 0;
+        }
+        _productRepository.softDeleteAllById(liveIds, ZonedDateTime.now());
+        for (String id : liveIds) {
+            Deleted(id);
+        }
+        return liveIds.size();
+    }
+
+    private void Changed(ProductDto productDto, long version) {
+        _eventPublisher.publishEvent(new ProductChangedEvent(productDto.id(), productDto, version));
+    }
+
+    private void Deleted(String id) {
+        _eventPublisher.publishEvent(ProductChangedEvent.Deleted(id));
     }
 
     private Product FindById(String Id) {
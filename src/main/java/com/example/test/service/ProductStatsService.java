@@ -0,0 +1,157 @@
+package com.example.test.service;
+
+
+import com.example.test.config.StatsProperties;
+import com.example.test.dto.LowStockProductDto;
+import com.example.test.dto.ProductDto;
+import com.example.test.dto.ProductStatsDto;
+import com.example.test.event.ProductChangedEvent;
+import com.example.test.invalidation.RemoteChangeListener;
+import com.example.test.repository.ProductRepository;
+import com.example.test.repository.ProductStockView;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// Inventory aggregates kept up to date from ProductChangedEvents and periodically recomputed from the database.
+@Service
+public class ProductStatsService implements RemoteChangeListener {
+
+    private final ProductRepository _productRepository;
+    private final StatsProperties _properties;
+    private final TaskScheduler _scheduler;
+
+    private final Map<String, Entry> _entries = new HashMap<>();
+    // Deleted since the last recompute, so a late update cannot bring the product back.
+    private final Set<String> _deleted = new HashSet<>();
+    private final TreeMap<Double, Integer> _priceCounts = new TreeMap<>();
+    private final TreeSet<Entry> _lowStock = new TreeSet<>(
+            Comparator.comparingInt(Entry::stockQuantity).thenComparing(Entry::id));
+    private double _totalValue;
+    private double _totalPrice;
+    private List<ProductChangedEvent> _pending;
+
+    public ProductStatsService(ProductRepository productRepository, StatsProperties properties, TaskScheduler scheduler) {
+        _productRepository = productRepository;
+        _properties = properties;
+        _scheduler = scheduler;
+    }
+
+    public synchronized ProductStatsDto GetStats() {
+        int count = _entries.size();
+        List<LowStockProductDto> lowStock = new ArrayList<>(Math.min(_lowStock.size(), _properties.lowStockLimit()));
+        for (Entry entry : _lowStock) {
+            if (lowStock.size() == _properties.lowStockLimit()) {
+                break;
+            }
+            lowStock.add(new LowStockProductDto(entry.id(), entry.name(), entry.stockQuantity()));
+        }
+        return new ProductStatsDto(count, _totalValue,
+                count == 0 ? null : _priceCounts.firstKey(),
+                count == 0 ? null : _priceCounts.lastKey(),
+                count == 0 ? null : _totalPrice / count,
+                _properties.lowStockThreshold(), lowStock);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void OnProductChanged(ProductChangedEvent event) {
+        if (_pending != null) {
+            _pending.add(event);
+        }
+        Apply(event);
+    }
+
+    @Override
+    public synchronized void OnRemoteChanges(List<ProductChangedEvent> changes) {
+        for (ProductChangedEvent change : changes) {
+            OnProductChanged(change);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void OnApplicationReady() {
+        Recompute();
+        _scheduler.scheduleWithFixedDelay(this::Recompute,
+                Instant.now().plus(_properties.recomputeInterval()), _properties.recomputeInterval());
+    }
+
+    public void Recompute() {
+        synchronized (this) {
+            _pending = new ArrayList<>();
+        }
+        List<ProductStockView> rows;
+        try {
+            rows = _productRepository.findAllStockViews();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                _pending = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            _entries.clear();
+            _deleted.clear();
+            _priceCounts.clear();
+            _lowStock.clear();
+            _totalValue = 0;
+            _totalPrice = 0;
+            for (ProductStockView row : rows) {
+                Add(new Entry(row.getId(), row.getName(), row.getPrice(), row.getStockQuantity(), row.getVersion()));
+            }
+            for (ProductChangedEvent event : _pending) {
+                Apply(event);
+            }
+            _pending = null;
+        }
+    }
+
+    private void Apply(ProductChangedEvent event) {
+        Entry previous = _entries.get(event.id());
+        if (previous != null ? event.version() <= previous.version() : _deleted.contains(event.id())) {
+            return;
+        }
+        if (previous != null) {
+            _entries.remove(event.id());
+            Remove(previous);
+        }
+        if (event.IsDeleted()) {
+            _deleted.add(event.id());
+        } else {
+            ProductDto product = event.product();
+            Add(new Entry(product.id(), product.name(), product.price(), product.stockQuantity(), event.version()));
+        }
+    }
+
+    private void Add(Entry entry) {
+        _entries.put(entry.id(), entry);
+        _priceCounts.merge(entry.price(), 1, Integer::sum);
+        if (entry.stockQuantity() < _properties.lowStockThreshold()) {
+            _lowStock.add(entry);
+        }
+        _totalValue += entry.price() * entry.stockQuantity();
+        _totalPrice += entry.price();
+    }
+
+    private void Remove(Entry entry) {
+        _priceCounts.computeIfPresent(entry.price(), (price, count) -> count == 1 ? null : count - 1);
+        _lowStock.remove(entry);
+        _totalValue -= entry.price() * entry.stockQuantity();
+        _totalPrice -= entry.price();
+    }
+
+    private record Entry(String id, String name, double price, int stockQuantity, long version) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.test.benchmark;
+
+import com.example.test.TestApplication;
+import com.example.test.dto.CreateProductDto;
+import com.example.test.exceptions.QueueFullException;
+import com.example.test.ingest.AsyncProductWriter;
+import com.example.test.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+// Accepted creates per second: synchronous ProductService.Add against AsyncProductWriter.SubmitCreate.
+// Rejections (queue full) are counted separately and are not accepted requests.
+// Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=com.example.test.benchmark.AsyncWriteBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class AsyncWriteBenchmark {
+
+    private static final String SECRET = "benchmark-secret-with-at-least-32-bytes";
+
+    private ConfigurableApplicationContext _context;
+    private ProductService _productService;
+    private AsyncProductWriter _asyncProductWriter;
+    private final CreateProductDto _createProductDto = new CreateProductDto("name", "description", 10, 1);
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Rejections {
+        public long rejected;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        _context = SpringApplication.run(TestApplication.class,
+                "--server.port=0", "--spring.jpa.show-sql=false", "--product.rate-limit.enabled=false",
+                "--product.security.jwt.secret=" + SECRET);
+        _productService = _context.getBean(ProductService.class);
+        _asyncProductWriter = _context.getBean(AsyncProductWriter.class);
+    }
+
+    @Benchmark
+    public void synchronousAdd(Blackhole blackhole) {
+        blackhole.consume(_productService.Add(_createProductDto));
+    }
+
+    @Benchmark
+    public void asyncSubmit(Blackhole blackhole, Rejections rejections) {
+        try {
+            blackhole.consume(_asyncProductWriter.SubmitCreate(_createProductDto));
+        } catch (QueueFullException e) {
+            rejections.rejected++;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        _context.close();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AsyncWriteBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
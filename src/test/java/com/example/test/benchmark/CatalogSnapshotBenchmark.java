@@ -0,0 +1,90 @@
+package com.example.test.benchmark;
+
+import com.example.test.catalog.CatalogSnapshot;
+import com.example.test.catalog.CatalogSnapshotFile;
+import com.example.test.mapper.ProductJsonWriter;
+import com.example.test.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// buildSnapshot is the in-memory part of a refresh; listing* compares serving the list per request
+// against writing the pre-serialized snapshot; readSnapshotFile is the warm-restart load.
+// Memory per product is printed once per trial.
+// Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=com.example.test.benchmark.CatalogSnapshotBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogSnapshotBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    private final ProductJsonWriter _productJsonWriter = new ProductJsonWriter(new ObjectMapper());
+    private final OutputStream _nullOutputStream = OutputStream.nullOutputStream();
+
+    private List<Product> _products;
+    private CatalogSnapshot _snapshot;
+    private Path _file;
+
+    @Setup
+    public void setup() throws IOException {
+        _products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            _products.add(Product.builder().id(UUID.randomUUID().toString()).name("name" + i)
+                    .description("description " + i).price(i + 0.5).stockQuantity(i % 100).build());
+        }
+        _snapshot = CatalogSnapshot.Build(_products, _productJsonWriter);
+        _file = Files.createTempFile("catalog-", ".snapshot");
+        CatalogSnapshotFile.Write(_snapshot, _file);
+        System.out.printf("%n%d products, ~%d bytes/product in memory, %d bytes/product on disk%n",
+                size, _snapshot.EstimatedBytes() / size, Files.size(_file) / size);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(_file);
+    }
+
+    @Benchmark
+    public CatalogSnapshot buildSnapshot() throws IOException {
+        return CatalogSnapshot.Build(_products, _productJsonWriter);
+    }
+
+    @Benchmark
+    public void listingFromEntities() throws IOException {
+        _productJsonWriter.Write(_products, _nullOutputStream);
+    }
+
+    @Benchmark
+    public void listingFromSnapshot() throws IOException {
+        _snapshot.WriteJson(_nullOutputStream);
+    }
+
+    @Benchmark
+    public CatalogSnapshot readSnapshotFile() throws IOException {
+        return CatalogSnapshotFile.Read(_file);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CatalogSnapshotBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.test.benchmark;
+
+import com.example.test.TestApplication;
+import com.example.test.dto.ProductDto;
+import com.example.test.dto.UpdateProductDto;
+import com.example.test.history.ProductHistoryWriter;
+import com.example.test.model.Product;
+import com.example.test.repository.ProductRepository;
+import com.example.test.service.ProductService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cost of price history capture on the write path: ProductService.Update with product.history.enabled
+// off and on. The history rows are written by a background thread, so the difference is the event
+// listener stamping and queueing the sample. Dropped samples are printed per trial.
+// Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=com.example.test.benchmark.HistoryWriteBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class HistoryWriteBenchmark {
+
+    @Param({"false", "true"})
+    private boolean history;
+
+    private static final String SECRET = "benchmark-secret-with-at-least-32-bytes";
+
+    private ConfigurableApplicationContext _context;
+    private ProductService _productService;
+    private ProductHistoryWriter _productHistoryWriter;
+    private List<String> _ids;
+    private int _next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        _context = SpringApplication.run(TestApplication.class,
+                "--server.port=0", "--spring.jpa.show-sql=false", "--product.rate-limit.enabled=false",
+                "--product.security.jwt.secret=" + SECRET,
+                "--product.history.enabled=" + history);
+        _productService = _context.getBean(ProductService.class);
+        _productHistoryWriter = _context.getBean(ProductHistoryWriter.class);
+
+        List<Product> products = new ArrayList<>(1000);
+        for (int i = 0; i < 1000; i++) {
+            products.add(Product.builder().name("name" + i).description("description " + i)
+                    .price(i + 1.5).stockQuantity(i % 100 + 1).build());
+        }
+        _ids = new ArrayList<>(products.size());
+        _context.getBean(ProductRepository.class).saveAll(products).forEach(product -> _ids.add(product.getId()));
+    }
+
+    @Benchmark
+    public ProductDto update() {
+        int i = _next++;
+        return _productService.Update(new UpdateProductDto(_ids.get(i % _ids.size()), "name" + i,
+                "description", i % 1000 + 1, i % 100 + 1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%nhistory=%s written=%d dropped=%d%n",
+                history, _productHistoryWriter.GetWritten(), _productHistoryWriter.GetDropped());
+        _context.close();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HistoryWriteBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.test.benchmark;
+
+import com.example.test.security.CachingJwtDecoder;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of bearer authentication: full signature verification (HS256, RS256) against a
+// CachingJwtDecoder hit for a token the caller keeps reusing.
+// Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=com.example.test.benchmark.JwtAuthBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthBenchmark {
+
+    private static final String SECRET = "benchmark-secret-with-at-least-32-bytes";
+
+    private JwtDecoder _hmacDecoder;
+    private JwtDecoder _rsaDecoder;
+    private JwtDecoder _cachedHmacDecoder;
+    private JwtDecoder _cachedRsaDecoder;
+    private String _hmacToken;
+    private String _rsaToken;
+
+    @Setup
+    public void setup() throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("service")
+                .claim("roles", List.of("ADMIN"))
+                .issueTime(new Date())
+                .expirationTime(Date.from(Instant.now().plus(Duration.ofHours(1))))
+                .build();
+
+        SignedJWT hmac = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        hmac.sign(new MACSigner(SECRET.getBytes(StandardCharsets.UTF_8)));
+        _hmacToken = hmac.serialize();
+        _hmacDecoder = NimbusJwtDecoder
+                .withSecretKey(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"))
+                .build();
+
+        RSAKey rsaKey = new RSAKeyGenerator(2048).generate();
+        SignedJWT rsa = new SignedJWT(new JWSHeader(JWSAlgorithm.RS256), claims);
+        rsa.sign(new RSASSASigner(rsaKey));
+        _rsaToken = rsa.serialize();
+        _rsaDecoder = NimbusJwtDecoder.withPublicKey(rsaKey.toRSAPublicKey()).build();
+
+        _cachedHmacDecoder = new CachingJwtDecoder(_hmacDecoder, 10_000, Duration.ofSeconds(30));
+        _cachedRsaDecoder = new CachingJwtDecoder(_rsaDecoder, 10_000, Duration.ofSeconds(30));
+    }
+
+    @Benchmark
+    public Jwt hmacVerify() {
+        return _hmacDecoder.decode(_hmacToken);
+    }
+
+    @Benchmark
+    public Jwt hmacCached() {
+        return _cachedHmacDecoder.decode(_hmacToken);
+    }
+
+    @Benchmark
+    public Jwt rsaVerify() {
+        return _rsaDecoder.decode(_rsaToken);
+    }
+
+    @Benchmark
+    public Jwt rsaCached() {
+        return _cachedRsaDecoder.decode(_rsaToken);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
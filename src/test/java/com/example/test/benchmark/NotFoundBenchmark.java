@@ -0,0 +1,58 @@
+package com.example.test.benchmark;
+
+import com.example.test.exceptions.NotFoundException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+// Miss-path cost: an exception with a filled stack trace (the previous NotFoundException) against
+// the stackless one, thrown from `depth` frames down to mimic a request thread's stack.
+// Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=com.example.test.benchmark.NotFoundBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotFoundBenchmark {
+
+    @Param({"20", "120"})
+    private int depth;
+
+    private final String _id = "0b7e6c1e-4a3f-4c7b-9d6a-2f0f1f6d9a11";
+
+    @Benchmark
+    public Object stackTraceMiss() {
+        try {
+            return Throw(depth, true);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object stacklessMiss() {
+        try {
+            return Throw(depth, false);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    private Object Throw(int remaining, boolean stackTrace) {
+        if (remaining > 0) {
+            return Throw(remaining - 1, stackTrace);
+        }
+        String message = "Product (" + _id + ") not found.";
+        throw stackTrace ? new RuntimeException(message) : new NotFoundException(message);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(NotFoundBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
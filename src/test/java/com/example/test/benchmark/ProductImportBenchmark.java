@@ -0,0 +1,94 @@
+package com.example.test.benchmark;
+
+import com.example.test.TestApplication;
+import com.example.test.importer.ImportFormat;
+import com.example.test.importer.ImportJob;
+import com.example.test.importer.ProductImportService;
+import com.example.test.repository.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// Imports a generated CSV end to end into a file-backed H2. Rows per second = rows / reported time.
+// Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=com.example.test.benchmark.ProductImportBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ProductImportBenchmark {
+
+    @Param({"1000000"})
+    private int rows;
+
+    private static final String SECRET = "benchmark-secret-with-at-least-32-bytes";
+
+    private ConfigurableApplicationContext _context;
+    private ProductImportService _productImportService;
+    private ProductRepository _productRepository;
+    private Path _file;
+    private Path _database;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        _database = Files.createTempDirectory("product-import-benchmark-");
+        _context = SpringApplication.run(TestApplication.class,
+                "--server.port=0", "--spring.jpa.show-sql=false", "--product.rate-limit.enabled=false",
+                "--product.security.jwt.secret=" + SECRET,
+                "--spring.datasource.url=jdbc:h2:file:" + _database.resolve("products"));
+        _productImportService = _context.getBean(ProductImportService.class);
+        _productRepository = _context.getBean(ProductRepository.class);
+
+        _file = Files.createTempFile("product-import-benchmark-", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(_file)) {
+            writer.write("name,description,price,stockQuantity\n");
+            for (int i = 0; i < rows; i++) {
+                writer.write("name" + i + ",description " + i + "," + (i % 1000 + 1) + ".5," + (i % 100 + 1) + "\n");
+            }
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void clean() {
+        _productRepository.deleteAllInBatch();
+    }
+
+    @Benchmark
+    public ImportJob importCsv() throws InterruptedException {
+        ImportJob job = _productImportService.Start(_file, ImportFormat.CSV, false);
+        // Sleeps rather than spins so the poll doesn't take a core from the import.
+        while (job.GetStatus() == ImportJob.Status.RUNNING) {
+            Thread.sleep(10);
+        }
+        return job;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        _context.close();
+        Files.deleteIfExists(_file);
+        try (Stream<Path> files = Files.list(_database)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(_database);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductImportBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.test.benchmark;
+
+import com.example.test.dto.ProductDto;
+import com.example.test.mapper.ProductJsonWriter;
+import com.example.test.mapper.ProductMapper;
+import com.example.test.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=com.example.test.benchmark.ProductMapperBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMapperBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private final ProductMapper _productMapper = new ProductMapper();
+    private final ObjectMapper _objectMapper = new ObjectMapper();
+    private final ProductJsonWriter _productJsonWriter = new ProductJsonWriter(_objectMapper);
+    // ObjectMapper.writeValue closes its target, and OutputStream.nullOutputStream() rejects writes once closed.
+    private final OutputStream _nullOutputStream = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    private List<Product> _products;
+
+    @Setup
+    public void setup() {
+        _products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            _products.add(Product.builder().id("id" + i).name("name" + i).description("description" + i)
+                    .price(i + 0.5).stockQuantity(i).build());
+        }
+    }
+
+    @Benchmark
+    public List<ProductDto> mapWithStreamCollect() {
+        return _products.stream().map(x -> _productMapper.MapToProductDto(x)).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ProductDto> mapWithPresizedList() {
+        List<ProductDto> productDtos = new ArrayList<>(_products.size());
+        for (Product product : _products) {
+            productDtos.add(_productMapper.MapToProductDto(product));
+        }
+        return productDtos;
+    }
+
+    @Benchmark
+    public void serializeViaProductDtoList() throws IOException {
+        _objectMapper.writeValue(_nullOutputStream, mapWithStreamCollect());
+    }
+
+    @Benchmark
+    public void serializeViaProductJsonWriter() throws IOException {
+        _productJsonWriter.Write(_products, _nullOutputStream);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductMapperBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
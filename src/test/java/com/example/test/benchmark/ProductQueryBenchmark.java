@@ -0,0 +1,85 @@
+package com.example.test.benchmark;
+
+import com.example.test.catalog.CatalogSnapshot;
+import com.example.test.dto.ProductQueryDto;
+import com.example.test.dto.ProductQueryResultDto;
+import com.example.test.mapper.ProductJsonWriter;
+import com.example.test.model.Product;
+import com.example.test.query.ProductQuery;
+import com.example.test.query.ProductQueryEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Scaling of the in-memory query engine across cores: the same filter + top-K + bucket query over
+// `size` products with a fork-join pool of `parallelism` workers (1 is the sequential baseline).
+// Run with: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=com.example.test.benchmark.ProductQueryBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ProductQueryBenchmark {
+
+    @Param({"1000000"})
+    private int size;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private ForkJoinPool _pool;
+    private ProductQueryEngine _engine;
+    private CatalogSnapshot _snapshot;
+    private ProductQuery _filterQuery;
+    private ProductQuery _groupQuery;
+
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(42);
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(Product.builder().id(new UUID(random.nextLong(), random.nextLong()).toString())
+                    .name((i % 4 == 0 ? "alpha" : "beta") + i).description("description " + i)
+                    .price(random.nextInt(100_000) / 100.0).stockQuantity(random.nextInt(500)).build());
+        }
+        _snapshot = CatalogSnapshot.Build(products, new ProductJsonWriter(new ObjectMapper()));
+        _pool = new ForkJoinPool(parallelism);
+        _engine = new ProductQueryEngine(_pool);
+        _filterQuery = ProductQuery.Of(new ProductQueryDto(100.0, 800.0, 50, null, "alpha", null,
+                ProductQueryDto.OrderBy.PRICE, true, 100));
+        _groupQuery = ProductQuery.Of(new ProductQueryDto(null, null, 10, null, null, 50.0,
+                ProductQueryDto.OrderBy.STOCK, true, 100));
+    }
+
+    @TearDown
+    public void tearDown() {
+        _pool.shutdown();
+    }
+
+    @Benchmark
+    public ProductQueryResultDto filterTopK() {
+        return _engine.Execute(_snapshot, _filterQuery);
+    }
+
+    @Benchmark
+    public ProductQueryResultDto groupByPriceBucket() {
+        return _engine.Execute(_snapshot, _groupQuery);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductQueryBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.test.catalog;
+
+import com.example.test.config.CatalogProperties;
+import com.example.test.dto.ProductDto;
+import com.example.test.event.ProductChangedEvent;
+import com.example.test.mapper.ProductJsonWriter;
+import com.example.test.model.Product;
+import com.example.test.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotFileTest {
+
+    private final ProductJsonWriter _productJsonWriter = new ProductJsonWriter(new ObjectMapper());
+
+    private final List<Product> _products = List.of(
+            Product.builder().id("id2").name("ürün").description("açıklama, \"quoted\"").price(20.5).stockQuantity(2).version(3).build(),
+            Product.builder().id("id1").name("test1").description("description1").price(10).stockQuantity(1).build());
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWriteRead_ShouldRoundTripColumnsAndJson() throws Exception {
+        //given
+        CatalogSnapshot snapshot = CatalogSnapshot.Build(_products, _productJsonWriter);
+        Path file = tempDir.resolve("catalog.snapshot");
+
+        //when
+        CatalogSnapshotFile.Write(snapshot, file);
+        CatalogSnapshot result = CatalogSnapshotFile.Read(file);
+
+        //then
+        Assertions.assertAll(
+                () -> assertEquals(snapshot.Size(), result.Size()),
+                () -> assertEquals(snapshot.Get(0), result.Get(0)),
+                () -> assertEquals(snapshot.Get(1), result.Get(1)),
+                () -> assertEquals(snapshot.IndexOf("id2"), result.IndexOf("id2")),
+                () -> assertTrue(result.IndexOf("id0") < 0 && result.IndexOf("id3") < 0),
+                () -> assertEquals(3, result.Version(result.IndexOf("id2"))),
+                () -> assertEquals(snapshot.ListingIndex(0), result.ListingIndex(0)),
+                () -> assertInstanceOf(MappedCatalogSnapshot.class, result),
+                () -> assertEquals(Json(snapshot), Json(result)),
+                () -> assertFalse(Files.exists(tempDir.resolve("catalog.snapshot.tmp"))));
+    }
+
+    @Test
+    void testApply_ShouldMergeChangesIntoSnapshotReadFromFile() throws Exception {
+        //given
+        Path file = tempDir.resolve("catalog.snapshot");
+        CatalogSnapshotFile.Write(CatalogSnapshot.Build(_products, _productJsonWriter), file);
+        CatalogSnapshot mapped = CatalogSnapshotFile.Read(file);
+        ProductDto updated = new ProductDto("id2", "ürün", "updated", 21, 4);
+
+        //when
+        CatalogSnapshot result = mapped.Apply(List.of(new ProductChangedEvent("id2", updated, 4)), _productJsonWriter);
+
+        //then
+        Assertions.assertAll(
+                () -> assertEquals(updated, result.Get(result.IndexOf("id2"))),
+                () -> assertEquals(mapped.Get(mapped.IndexOf("id1")), result.Get(result.IndexOf("id1"))),
+                () -> assertTrue(Json(result).startsWith("[{\"id\":\"id2\",\"name\":\"ürün\",\"description\":\"updated\"")));
+    }
+
+    @Test
+    void testPersist_ShouldKeepServingHeapSnapshot_AfterWritingFile() throws Exception {
+        //given
+        Path file = tempDir.resolve("catalog.snapshot");
+        ProductRepository productRepository = Mockito.mock(ProductRepository.class);
+        Mockito.when(productRepository.findAll()).thenReturn(_products);
+        ProductCatalog productCatalog = new ProductCatalog(productRepository, _productJsonWriter,
+                new CatalogProperties(true, Duration.ofMillis(10), file, Duration.ofHours(1)));
+        productCatalog.OnApplicationReady();
+        CatalogSnapshot loaded = productCatalog.GetSnapshot();
+
+        //when
+        productCatalog.Persist();
+
+        //then
+        Assertions.assertAll(
+                () -> assertInstanceOf(HeapCatalogSnapshot.class, loaded),
+                () -> assertSame(loaded, productCatalog.GetSnapshot()),
+                () -> assertEquals(Json(loaded), Json(CatalogSnapshotFile.Read(file))));
+        productCatalog.Shutdown();
+    }
+
+    @Test
+    void testOnProductChanged_ShouldReloadFromDatabase_WhenApplyFails() throws Exception {
+        //given
+        Product changed = Product.builder().id("id1").name("changed").description("description1").price(10)
+                .stockQuantity(1).version(1).build();
+        ProductRepository productRepository = Mockito.mock(ProductRepository.class);
+        Mockito.when(productRepository.findAll()).thenReturn(_products, List.of(_products.get(0), changed));
+        ProductJsonWriter jsonWriter = Mockito.spy(_productJsonWriter);
+        ProductCatalog productCatalog = new ProductCatalog(productRepository, jsonWriter,
+                new CatalogProperties(true, Duration.ofMillis(10), null, Duration.ofHours(1)));
+        productCatalog.OnApplicationReady();
+        Mockito.doThrow(new IOException("simulated")).doCallRealMethod()
+                .when(jsonWriter).Write(Mockito.anyInt(), Mockito.any(), Mockito.any());
+
+        //when
+        productCatalog.OnProductChanged(new ProductChangedEvent("id1",
+                new ProductDto("id1", "changed", "description1", 10, 1), 1));
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!"changed".equals(Name(productCatalog.GetSnapshot(), "id1")) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        //then
+        Assertions.assertAll(
+                () -> assertEquals("changed", Name(productCatalog.GetSnapshot(), "id1")),
+                () -> Mockito.verify(productRepository, Mockito.times(2)).findAll());
+        productCatalog.Shutdown();
+    }
+
+    @Test
+    void testRead_ShouldThrowIOException_WhenRecordPointsOutsideStringTable() throws Exception {
+        //given
+        Path file = tempDir.resolve("catalog.snapshot");
+        CatalogSnapshotFile.Write(CatalogSnapshot.Build(_products, _productJsonWriter), file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ByteBuffer offset = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(0, 1 << 20);
+            channel.write(offset, CatalogSnapshotFile.HEADER_BYTES);
+        }
+
+        //then
+        assertThrows(IOException.class, () -> CatalogSnapshotFile.Read(file));
+    }
+
+    @Test
+    void testRead_ShouldThrowIOException_WhenFileIsTruncated() throws Exception {
+        //given
+        Path file = tempDir.resolve("catalog.snapshot");
+        CatalogSnapshotFile.Write(CatalogSnapshot.Build(_products, _productJsonWriter), file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, CatalogSnapshotFile.HEADER_BYTES + CatalogSnapshotFile.RECORD_BYTES));
+
+        //then
+        assertThrows(IOException.class, () -> CatalogSnapshotFile.Read(file));
+    }
+
+    @Test
+    void testRead_ShouldThrowIOException_WhenNotASnapshotFile() throws Exception {
+        Path file = tempDir.resolve("catalog.snapshot");
+        Files.writeString(file, "not a snapshot, just some text");
+
+        assertThrows(IOException.class, () -> CatalogSnapshotFile.Read(file));
+    }
+
+    @Test
+    void testOnApplicationReady_ShouldServePersistedSnapshot_BeforeDatabaseReconcileFinishes() throws Exception {
+        //given
+        Path file = tempDir.resolve("catalog.snapshot");
+        CatalogSnapshotFile.Write(CatalogSnapshot.Build(_products, _productJsonWriter), file);
+
+        CountDownLatch release = new CountDownLatch(1);
+        ProductRepository productRepository = Mockito.mock(ProductRepository.class);
+        Mockito.when(productRepository.findAll()).thenAnswer(invocation -> {
+            release.await();
+            return List.of();
+        });
+        ProductCatalog productCatalog = new ProductCatalog(productRepository, _productJsonWriter,
+                new CatalogProperties(true, Duration.ofMillis(10), file, Duration.ofSeconds(60)));
+
+        //when
+        productCatalog.OnApplicationReady();
+
+        //then
+        assertEquals(2, productCatalog.GetSnapshot().Size());
+        release.countDown();
+        productCatalog.Shutdown();
+    }
+
+    private static String Name(CatalogSnapshot snapshot, String id) {
+        return snapshot.Get(snapshot.IndexOf(id)).name();
+    }
+
+    private static String Json(CatalogSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        snapshot.WriteJson(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.test.catalog;
+
+import com.example.test.dto.ProductDto;
+import com.example.test.event.ProductChangedEvent;
+import com.example.test.mapper.ProductJsonWriter;
+import com.example.test.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    private final ObjectMapper _objectMapper = new ObjectMapper();
+    private final ProductJsonWriter _productJsonWriter = new ProductJsonWriter(_objectMapper);
+
+    private final List<Product> _products = List.of(
+            Product.builder().id("id3").name("test3").description("description3").price(30).stockQuantity(3).build(),
+            Product.builder().id("id1").name("test1").description("description1").price(10).stockQuantity(1).build(),
+            Product.builder().id("id2").name("test2").description("description2").price(20).stockQuantity(2).build());
+
+    @Test
+    void testBuild_ShouldKeepRepositoryOrderInJson() throws Exception {
+        CatalogSnapshot snapshot = CatalogSnapshot.Build(_products, _productJsonWriter);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        _productJsonWriter.Write(_products, expected);
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        snapshot.WriteJson(result);
+
+        assertEquals(expected.toString(StandardCharsets.UTF_8), result.toString(StandardCharsets.UTF_8));
+        assertEquals(expected.size(), snapshot.JsonLength());
+    }
+
+    @Test
+    void testIndexOf_ShouldFindColumnsById_WhenProductExists() throws Exception {
+        CatalogSnapshot snapshot = CatalogSnapshot.Build(_products, _productJsonWriter);
+
+        int index = snapshot.IndexOf("id2");
+
+        Assertions.assertAll(
+                () -> assertEquals(3, snapshot.Size()),
+                () -> assertEquals(new ProductDto("id2", "test2", "description2", 20, 2), snapshot.Get(index)),
+                () -> assertEquals(20, snapshot.Price(index)),
+                () -> assertEquals(2, snapshot.StockQuantity(index)),
+                () -> assertTrue(snapshot.IndexOf("missing") < 0));
+    }
+
+    @Test
+    void testBuild_ShouldReturnEmptySnapshot_WhenNoProducts() throws Exception {
+        CatalogSnapshot snapshot = CatalogSnapshot.Build(List.of(), _productJsonWriter);
+
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        snapshot.WriteJson(result);
+
+        assertEquals(0, snapshot.Size());
+        assertEquals("[]", result.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testApply_ShouldUpdateDeleteAndAppend_KeepingListingOrder() throws Exception {
+        //given
+        CatalogSnapshot snapshot = CatalogSnapshot.Build(_products, _productJsonWriter);
+        ProductDto updated = new ProductDto("id1", "test1-updated", "description1", 15, 5);
+        ProductDto added = new ProductDto("id0", "test0", "description0", 5, 7);
+
+        //when
+        CatalogSnapshot result = snapshot.Apply(List.of(
+                new ProductChangedEvent("id1", updated, 1),
+                ProductChangedEvent.Deleted("id3"),
+                new ProductChangedEvent("id0", added, 0)), _productJsonWriter);
+
+        //then
+        List<ProductDto> expected = List.of(updated, new ProductDto("id2", "test2", "description2", 20, 2), added);
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        result.WriteJson(json);
+        ByteArrayOutputStream expectedJson = new ByteArrayOutputStream();
+        _productJsonWriter.Write(expected.size(), expected::get, expectedJson);
+        Assertions.assertAll(
+                () -> assertEquals(3, result.Size()),
+                () -> assertEquals(expected, Listing(result)),
+                () -> assertEquals(expectedJson.toString(StandardCharsets.UTF_8), json.toString(StandardCharsets.UTF_8)),
+                () -> assertEquals(1, result.Version(result.IndexOf("id1"))),
+                () -> assertTrue(result.IndexOf("id3") < 0),
+                () -> assertEquals(3, snapshot.Size()));
+    }
+
+    @Test
+    void testApply_ShouldKeepSnapshot_WhenChangesAreNotNewer() throws Exception {
+        //given
+        CatalogSnapshot snapshot = CatalogSnapshot.Build(_products, _productJsonWriter);
+
+        //when
+        CatalogSnapshot result = snapshot.Apply(List.of(
+                new ProductChangedEvent("id1", new ProductDto("id1", "stale", "description1", 1, 1), 0),
+                ProductChangedEvent.Deleted("missing")), _productJsonWriter);
+
+        //then
+        assertSame(snapshot, result);
+    }
+
+    private static List<ProductDto> Listing(CatalogSnapshot snapshot) {
+        List<ProductDto> listing = new ArrayList<>(snapshot.Size());
+        for (int position = 0; position < snapshot.Size(); position++) {
+            listing.add(snapshot.Get(snapshot.ListingIndex(position)));
+        }
+        return listing;
+    }
+}
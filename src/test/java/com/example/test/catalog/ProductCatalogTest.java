@@ -0,0 +1,99 @@
+package com.example.test.catalog;
+
+import com.example.test.config.CatalogProperties;
+import com.example.test.dto.CreateProductDto;
+import com.example.test.dto.ProductDto;
+import com.example.test.event.ProductChangedEvent;
+import com.example.test.mapper.ProductJsonWriter;
+import com.example.test.repository.ProductRepository;
+import com.example.test.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {"product.catalog.enabled=true", "product.catalog.refresh-delay=1h"})
+class ProductCatalogTest {
+
+    private final String ENDPOINT = "/api/v1/products/";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    private ProductCatalog _productCatalog;
+    @Autowired
+    private ProductService _productService;
+    @Autowired
+    private ProductRepository _productRepository;
+    @Autowired
+    private ProductJsonWriter _productJsonWriter;
+
+    @AfterEach
+    void tearDown() {
+        _productRepository.deleteAll();
+        _productCatalog.Refresh();
+    }
+
+    @Test
+    void testGetAll_ShouldServeSnapshot_UntilRefreshed() throws Exception {
+        _productCatalog.Refresh();
+        ProductDto product = _productService.Add(new CreateProductDto("test", "description", 10, 1));
+
+        // The change is only picked up by the (here: delayed) refresh.
+        mockMvc.perform(MockMvcRequestBuilders.get(ENDPOINT))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        _productCatalog.Refresh();
+
+        mockMvc.perform(MockMvcRequestBuilders.get(ENDPOINT))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(product.id()))
+                .andExpect(jsonPath("$[0].name").value("test"));
+    }
+
+    @Test
+    void testOnProductChanged_ShouldApplyChangesToSnapshot_WithoutReloading() throws Exception {
+        //given
+        ProductRepository productRepository = Mockito.mock(ProductRepository.class);
+        Mockito.when(productRepository.findAll()).thenReturn(List.of());
+        ProductCatalog productCatalog = new ProductCatalog(productRepository, _productJsonWriter,
+                new CatalogProperties(true, Duration.ofMillis(1), null, Duration.ofHours(1)));
+        productCatalog.OnApplicationReady();
+        ProductDto first = new ProductDto("id1", "test1", "description", 10, 1);
+        ProductDto second = new ProductDto("id2", "test2", "description", 20, 2);
+
+        //when
+        productCatalog.OnProductChanged(new ProductChangedEvent("id1", first, 0));
+        productCatalog.OnRemoteChanges(List.of(new ProductChangedEvent("id2", second, 0)));
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (productCatalog.GetSnapshot().Size() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        //then
+        CatalogSnapshot snapshot = productCatalog.GetSnapshot();
+        assertEquals(first, snapshot.Get(snapshot.IndexOf("id1")));
+        assertEquals(second, snapshot.Get(snapshot.IndexOf("id2")));
+        Mockito.verify(productRepository, Mockito.times(1)).findAll();
+        productCatalog.Shutdown();
+    }
+}
@@ -5,8 +5,10 @@ import com.example.test.dto.ProductDto;
 import com.example.test.dto.UpdateProductDto;
 import com.example.test.mapper.ProductMapper;
 import com.example.test.model.Product;
+import com.example.test.query.ProductQuery;
 import com.example.test.repository.ProductRepository;
 import com.example.test.service.ProductService;
+import com.example.test.service.ProductStatsService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
@@ -38,6 +40,7 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
@@ -62,6 +65,8 @@ class ProductControllerTest {
     private ProductRepository _productRepository;
     @Autowired
     private ProductService _productService;
+    @Autowired
+    private ProductStatsService _productStatsService;
 
     @Autowired
     private ObjectMapper _objectMapper;
@@ -121,6 +126,7 @@ class ProductControllerTest {
 
 
     @Test
+    @WithMockUser(roles = "MANAGER")
     void testUpdate_ShouldUpdateProductAndReturnProductDto_WhenValidRequestAndProductExist() throws Exception {
 
         Product newProduct = Product.builder().name("test").description("description").price(10.0).stockQuantity(1).build();
@@ -142,6 +148,7 @@ class ProductControllerTest {
     }
 
     @Test
+    @WithMockUser(roles = "MANAGER")
     void testUpdate_ShouldThrowNotFoundException_WhenValidRequestAndProductDoesNotExist() throws Exception {
 
         UpdateProductDto updateProductDto = new UpdateProductDto("id1",
@@ -152,11 +159,13 @@ class ProductControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(_objectMapper.writeValueAsString(updateProductDto)))
                 .andDo(print())
-                .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$").value(String.format("Product (%s) not found.", updateProductDto.id())));
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.detail").value(String.format("Product (%s) not found.", updateProductDto.id())));
     }
 
     @Test
+    @WithMockUser(roles = "MANAGER")
     void testUpdate_ShouldThrowMethodArgumentNotValidException_WhenInValidRequest() throws Exception {
 
         UpdateProductDto updateProductDto = new UpdateProductDto("id1",
@@ -171,11 +180,81 @@ class ProductControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(_objectMapper.writeValueAsString(updateProductDto)))
                 .andDo(print())
-                .andExpect(jsonPath("$", Matchers.containsInAnyOrder(expectedMessages)))
+                .andExpect(jsonPath("$.errors", Matchers.containsInAnyOrder(expectedMessages)))
                 .andExpect(status().isBadRequest());
     }
 
 
+    @Test
+    void testGetStats_ShouldReturnInventoryAggregates_WhenProductsExist() throws Exception {
+        _productStatsService.Recompute();
+        _productService.Add(new CreateProductDto("test", "description", 10.0, 2));
+        _productService.Add(new CreateProductDto("test2", "description2", 30.0, 10));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(ENDPOINT + "stats"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.totalInventoryValue").value(320.0))
+                .andExpect(jsonPath("$.minPrice").value(10.0))
+                .andExpect(jsonPath("$.maxPrice").value(30.0))
+                .andExpect(jsonPath("$.avgPrice").value(20.0))
+                .andExpect(jsonPath("$.lowStock.length()").value(1))
+                .andExpect(jsonPath("$.lowStock[0].name").value("test"));
+    }
+
+    @Test
+    void testQuery_ShouldReturnTopKAndPriceBuckets_WhenProductsMatch() throws Exception {
+        _productRepository.saveAll(List.of(
+                Product.builder().name("alpha1").description("description").price(12.0).stockQuantity(3).build(),
+                Product.builder().name("alpha2").description("description").price(18.0).stockQuantity(7).build(),
+                Product.builder().name("alpha3").description("description").price(25.0).stockQuantity(1).build(),
+                Product.builder().name("beta1").description("description").price(40.0).stockQuantity(9).build()));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(ENDPOINT + "query")
+                        .param("namePrefix", "alpha")
+                        .param("minStock", "2")
+                        .param("bucketWidth", "10")
+                        .param("limit", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(2))
+                .andExpect(jsonPath("$.top.length()").value(1))
+                .andExpect(jsonPath("$.top[0].name").value("alpha2"))
+                .andExpect(jsonPath("$.buckets.length()").value(1))
+                .andExpect(jsonPath("$.buckets[0].from").value(10.0))
+                .andExpect(jsonPath("$.buckets[0].count").value(2))
+                .andExpect(jsonPath("$.buckets[0].totalStock").value(10));
+    }
+
+    @Test
+    void testQuery_ShouldReturnBadRequest_WhenBucketWidthYieldsTooManyBuckets() throws Exception {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i <= ProductQuery.MAX_BUCKETS; i++) {
+            products.add(Product.builder().name("alpha" + i).description("description").price(i).stockQuantity(1).build());
+        }
+        _productRepository.saveAll(products);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(ENDPOINT + "query")
+                        .param("bucketWidth", "1")
+                        .param("maxPrice", String.valueOf(ProductQuery.MAX_BUCKETS - 1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.buckets.length()").value(ProductQuery.MAX_BUCKETS));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(ENDPOINT + "query").param("bucketWidth", "1"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
+    @Test
+    void testQuery_ShouldReturnBadRequest_WhenLimitTooLarge() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(ENDPOINT + "query").param("limit", "5000"))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors", Matchers.contains("limit: must be less than or equal to 1000")));
+    }
+
     @Test
     void testGetById_ShouldReturnProductDto_WhenProductExist() throws Exception {
 
@@ -199,11 +278,13 @@ class ProductControllerTest {
         mockMvc.perform(MockMvcRequestBuilders.get(ENDPOINT + "{id}", id)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(print())
-                .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$").value(String.format("Product (%s) not found.", id)));
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.detail").value(String.format("Product (%s) not found.", id)));
     }
 
     @Test
+    @WithMockUser(roles = "MANAGER")
     void testCreate_ShouldCreateProductAndReturnProductDto_WhenValidRequest() throws Exception {
 
         CreateProductDto createProductDto = new CreateProductDto("test", "description", 10, 1);
@@ -222,6 +303,7 @@ class ProductControllerTest {
 
 
     @Test
+    @WithMockUser(roles = "MANAGER")
     void testCreate_ShouldThrowMethodArgumentNotValidException_WhenInvalidRequest() throws Exception {
         CreateProductDto createProductDto = new CreateProductDto("", "", -1, -150);
 
@@ -237,8 +319,8 @@ class ProductControllerTest {
                         .content(_objectMapper.writeValueAsString(createProductDto)))
                 .andDo(print())
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.length()").value(4))
-                .andExpect(jsonPath("$", Matchers.containsInAnyOrder(expectedMessages.toArray())));
+                .andExpect(jsonPath("$.errors.length()").value(4))
+                .andExpect(jsonPath("$.errors", Matchers.containsInAnyOrder(expectedMessages.toArray())));
 
 
 //                .andExpect(jsonPath("$").value("stockQuantity: must be greater than or equal to 1"))
@@ -268,10 +350,95 @@ class ProductControllerTest {
 
         mockMvc.perform(MockMvcRequestBuilders.delete(ENDPOINT + "{id}", id))
                 .andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.detail").value(String.format("Product (%s) not found.", id)));
+    }
+
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testDelete_ShouldHideProductFromReads_WhenProductSoftDeleted() throws Exception {
+        Product newProduct = Product.builder().name("test").description("description").price(10.0).stockQuantity(1).build();
+        _productRepository.save(newProduct);
+        String id = newProduct.getId();
+
+        mockMvc.perform(MockMvcRequestBuilders.delete(ENDPOINT + "{id}", id))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(MockMvcRequestBuilders.get(ENDPOINT + "{id}", id))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(MockMvcRequestBuilders.get(ENDPOINT))
+                .andExpect(jsonPath("$.length()").value(0));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete(ENDPOINT + "{id}", id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void testDeleteAll_ShouldDeleteAllProductsWithManagerUser_WhenIdsGiven() throws Exception {
+        List<Product> productList = _productRepository.saveAll(Arrays.asList(
+                Product.builder().name("test").description("description").price(10.0).stockQuantity(1).build(),
+                Product.builder().name("test2").description("description2").price(10.0).stockQuantity(1).build(),
+                Product.builder().name("test3").description("description3").price(10.0).stockQuantity(1).build()
+        ));
+
+        List<String> ids = List.of(productList.get(0).getId(), productList.get(1).getId());
+
+        mockMvc.perform(MockMvcRequestBuilders.delete(ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(_objectMapper.writeValueAsString(ids)))
+                .andDo(print())
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(MockMvcRequestBuilders.get(ENDPOINT))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("test3"));
+    }
+
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void testDeleteAll_ShouldReturnBadRequest_WhenIdsEmpty() throws Exception {
+        _productRepository.save(
+                Product.builder().name("test").description("description").price(10.0).stockQuantity(1).build());
+
+        mockMvc.perform(MockMvcRequestBuilders.delete(ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andDo(print())
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$").value(String.format("Product (%s) not found.", id)));
+                .andExpect(jsonPath("$.errors[0]").value("ids: must not be empty"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(ENDPOINT))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void testCreate_ShouldReturnStatusUnauthorizedWithUnAuthorizeUser() throws Exception {
+
+        CreateProductDto createProductDto = new CreateProductDto("test", "description", 10, 1);
+
+        mockMvc.perform(MockMvcRequestBuilders.post(ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(_objectMapper.writeValueAsString(createProductDto)))
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @WithMockUser()
+    void testUpdate_ShouldReturnStatusForbiddenWithAuthorizeUser() throws Exception {
+
+        UpdateProductDto updateProductDto = new UpdateProductDto("id1", "update-test", "update-description", 150, 10);
+
+        mockMvc.perform(MockMvcRequestBuilders.put(ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(_objectMapper.writeValueAsString(updateProductDto)))
+                .andDo(print())
+                .andExpect(status().isForbidden());
+    }
 
     @Test
     void testDelete_ShouldReturnStatusUnauthorizedWithUnAuthorizeUser() throws Exception {
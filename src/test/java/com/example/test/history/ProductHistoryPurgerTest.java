@@ -0,0 +1,57 @@
+package com.example.test.history;
+
+import com.example.test.model.ProductHistory;
+import com.example.test.repository.ProductHistoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "product.history.purge-batch-size=2")
+class ProductHistoryPurgerTest {
+
+    @Autowired
+    private ProductHistoryPurger _productHistoryPurger;
+    @Autowired
+    private ProductHistoryRepository _productHistoryRepository;
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        _productHistoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testPurge_ShouldDeleteOnlySamplesOlderThanCutoffInBatches() {
+        //given
+        Instant cutoff = Instant.parse("2024-01-01T00:00:00Z");
+        long at = ProductHistory.EpochMicros(cutoff);
+        _productHistoryRepository.saveAll(List.of(
+                new ProductHistory("id1", at - 3, 10, 1),
+                new ProductHistory("id1", at - 2, 10, 1),
+                new ProductHistory("id2", at - 2, 10, 1),
+                new ProductHistory("id2", at - 1, 10, 1),
+                new ProductHistory("id1", at, 10, 1),
+                new ProductHistory("id2", at + 1, 10, 1)));
+
+        //when
+        long purged = _productHistoryPurger.Purge(cutoff);
+
+        //then
+        Assertions.assertAll(
+                () -> assertEquals(4, purged),
+                () -> assertEquals(2, _productHistoryRepository.count()),
+                () -> assertTrue(_productHistoryRepository.findAll().stream().allMatch(h -> h.getRecordedAt() >= at)));
+    }
+}
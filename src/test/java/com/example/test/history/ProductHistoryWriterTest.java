@@ -0,0 +1,152 @@
+package com.example.test.history;
+
+import com.example.test.config.HistoryProperties;
+import com.example.test.dto.ProductDto;
+import com.example.test.event.ProductChangedEvent;
+import com.example.test.model.ProductHistory;
+import com.example.test.repository.ProductHistoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductHistoryWriterTest {
+
+    private final ProductHistoryRepository _productHistoryRepository = Mockito.mock(ProductHistoryRepository.class);
+    private final Clock _clock = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+    private ProductHistoryWriter _writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        _writer.Shutdown();
+    }
+
+    @Test
+    void testOnProductChanged_ShouldAppendSamplesWithIncreasingTimestamps_AndSkipDeletes() throws InterruptedException {
+        //given
+        List<ProductHistory> written = new ArrayList<>();
+        // The writer reuses its batch list, so copy on every call.
+        Mockito.when(_productHistoryRepository.saveAll(Mockito.anyList())).thenAnswer(invocation -> {
+            List<ProductHistory> batch = invocation.getArgument(0);
+            written.addAll(batch);
+            return batch;
+        });
+        _writer = new ProductHistoryWriter(_productHistoryRepository, Properties(true, 100), _clock);
+
+        //when
+        _writer.OnProductChanged(Changed("id1", 10, 1));
+        _writer.OnProductChanged(Changed("id1", 12, 2));
+        _writer.OnProductChanged(ProductChangedEvent.Deleted("id1"));
+        _writer.OnProductChanged(Changed("id2", 5, 3));
+        _writer.Shutdown();
+
+        //then
+        assertEquals(3, written.size());
+        assertEquals(3, _writer.GetWritten());
+        long start = ProductHistory.EpochMicros(_clock.instant());
+        assertEquals(List.of(start, start + 1, start + 2), written.stream().map(ProductHistory::getRecordedAt).toList());
+        assertEquals(List.of("id1", "id1", "id2"), written.stream().map(ProductHistory::getProductId).toList());
+        assertEquals(12, written.get(1).getPrice());
+        assertEquals(2, written.get(1).getStockQuantity());
+    }
+
+    @Test
+    void testOnProductChanged_ShouldDoNothing_WhenDisabled() throws InterruptedException {
+        long writerThreads = WriterThreads();
+        _writer = new ProductHistoryWriter(_productHistoryRepository, Properties(false, 100), _clock);
+
+        _writer.OnProductChanged(Changed("id1", 10, 1));
+
+        assertEquals(writerThreads, WriterThreads());
+        _writer.Shutdown();
+        Mockito.verifyNoInteractions(_productHistoryRepository);
+    }
+
+    @Test
+    void testOnProductChanged_ShouldDropAndCount_WhenQueueFull() throws InterruptedException {
+        //given
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(_productHistoryRepository.saveAll(Mockito.anyList())).thenAnswer(invocation -> {
+            saving.countDown();
+            release.await();
+            return invocation.getArgument(0);
+        });
+        _writer = new ProductHistoryWriter(_productHistoryRepository, Properties(true, 1), _clock);
+
+        //when
+        _writer.OnProductChanged(Changed("id1", 10, 1));
+        assertTrue(saving.await(5, TimeUnit.SECONDS));
+        _writer.OnProductChanged(Changed("id1", 11, 1));
+        _writer.OnProductChanged(Changed("id1", 12, 1));
+        release.countDown();
+        _writer.Shutdown();
+
+        //then
+        assertEquals(1, _writer.GetDropped());
+        assertEquals(2, _writer.GetWritten());
+    }
+
+    @Test
+    void testFlush_ShouldDropOnlyTheFailingSample_WhenBatchFails() {
+        //given
+        Mockito.when(_productHistoryRepository.saveAll(Mockito.anyList())).thenThrow(new IllegalStateException("batch"));
+        Mockito.when(_productHistoryRepository.save(Mockito.any(ProductHistory.class))).thenAnswer(invocation -> {
+            ProductHistory sample = invocation.getArgument(0);
+            if (sample.getProductId().equals("bad")) {
+                throw new IllegalStateException("bad row");
+            }
+            return sample;
+        });
+        _writer = new ProductHistoryWriter(_productHistoryRepository, Properties(true, 100), _clock);
+
+        //when
+        _writer.Flush(List.of(new ProductHistory("id1", 1, 10, 1), new ProductHistory("bad", 2, 10, 1),
+                new ProductHistory("id2", 3, 10, 1)));
+
+        //then
+        assertEquals(2, _writer.GetWritten());
+        assertEquals(1, _writer.GetDropped());
+        Mockito.verify(_productHistoryRepository, Mockito.times(3)).save(Mockito.any(ProductHistory.class));
+    }
+
+    @Test
+    void testNextTimestamp_ShouldFollowTheClock_WhenItMovesAhead() {
+        Clock clock = Mockito.mock(Clock.class);
+        Instant now = Instant.parse("2024-01-01T00:00:00Z");
+        Mockito.when(clock.instant()).thenReturn(now, now, now.plusSeconds(1));
+        _writer = new ProductHistoryWriter(_productHistoryRepository, Properties(true, 100), clock);
+
+        long first = _writer.NextTimestamp();
+        long second = _writer.NextTimestamp();
+        long third = _writer.NextTimestamp();
+
+        assertEquals(first + 1, second);
+        assertEquals(ProductHistory.EpochMicros(now.plusSeconds(1)), third);
+    }
+
+    private static ProductChangedEvent Changed(String id, double price, int stockQuantity) {
+        return new ProductChangedEvent(id, new ProductDto(id, "name", "description", price, stockQuantity), 0);
+    }
+
+    private static long WriterThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("product-history-writer"))
+                .count();
+    }
+
+    private static HistoryProperties Properties(boolean enabled, int queueCapacity) {
+        return new HistoryProperties(enabled, queueCapacity, 100, Duration.ofDays(7), Duration.ofSeconds(5),
+                "-", Duration.ofDays(90), 1000);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.test.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvLineParserTest {
+
+    @Test
+    void testParse_ShouldSplitFields_WhenPlainLine() {
+        assertEquals(List.of("name", "desc", "10", "1"), CsvLineParser.Parse("name,desc,10,1"));
+    }
+
+    @Test
+    void testParse_ShouldKeepCommasAndQuotes_WhenQuotedField() {
+        assertEquals(List.of("name", "a, \"b\"", "10", ""), CsvLineParser.Parse("name,\"a, \"\"b\"\"\",10,"));
+    }
+
+    @Test
+    void testParse_ShouldThrowIllegalArgumentException_WhenQuoteNotClosed() {
+        assertThrows(IllegalArgumentException.class, () -> CsvLineParser.Parse("name,\"desc,10,1"));
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.test.importer;
+
+import com.example.test.dto.ImportStatusDto;
+import com.example.test.model.Product;
+import com.example.test.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService _productImportService;
+    @Autowired
+    private ProductRepository _productRepository;
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        _productRepository.deleteAll();
+    }
+
+    @Test
+    void testRun_ShouldUpsertByNameAndReportLineErrors_WhenCsvFile() throws Exception {
+        //given
+        _productRepository.save(Product.builder().name("existing").description("old").price(1).stockQuantity(1).build());
+
+        Path file = tempDir.resolve("products.csv");
+        Files.writeString(file, String.join("\n",
+                "name,description,price,stockQuantity",
+                "existing,\"new, quoted\",15.5,10",
+                "new1,description1,10,1",
+                ",blank name,10,1",
+                "new2,description2,not-a-number,1",
+                "new3,description3,20,2"));
+
+        ImportJob job = new ImportJob("job1", 100);
+
+        //when
+        _productImportService.Run(job, file, ImportFormat.CSV);
+
+        //then
+        ImportStatusDto status = job.ToStatusDto();
+        Product updated = _productRepository.findAllByNameIn(List.of("existing")).get(0);
+
+        Assertions.assertAll(
+                () -> assertEquals("COMPLETED", status.status()),
+                () -> assertEquals(5, status.linesRead()),
+                () -> assertEquals(2, status.created()),
+                () -> assertEquals(1, status.updated()),
+                () -> assertEquals(2, status.failed()),
+                () -> assertEquals(List.of(4L, 5L), status.errors().stream().map(e -> e.line()).sorted().toList()),
+                () -> assertEquals(3, _productRepository.count()),
+                () -> assertEquals("new, quoted", updated.getDescription()),
+                () -> assertEquals(10, updated.getStockQuantity()));
+    }
+
+    @Test
+    void testRun_ShouldImportAllBatches_WhenNdjsonFileLargerThanBatch() throws Exception {
+        //given
+        Path file = tempDir.resolve("products.ndjson");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 2_500; i++) {
+            content.append("{\"name\":\"name").append(i).append("\",\"description\":\"desc\",\"price\":10,\"stockQuantity\":1}\n");
+        }
+        Files.writeString(file, content);
+
+        ImportJob job = new ImportJob("job2", 100);
+
+        //when
+        _productImportService.Run(job, file, ImportFormat.NDJSON);
+
+        //then
+        ImportStatusDto status = job.ToStatusDto();
+        Assertions.assertAll(
+                () -> assertEquals("COMPLETED", status.status()),
+                () -> assertEquals(2_500, status.created()),
+                () -> assertEquals(0, status.failed()),
+                () -> assertEquals(2_500, _productRepository.count()));
+    }
+
+    @Test
+    void testRun_ShouldLetLaterRowsWin_WhenNameRepeatsAcrossChunks() throws Exception {
+        //given a name repeated in every chunk, with the last occurrence carrying the highest stock
+        Path file = tempDir.resolve("repeats.csv");
+        StringBuilder content = new StringBuilder("name,description,price,stockQuantity\n");
+        int lines = 20_000;
+        for (int i = 1; i <= lines; i++) {
+            if (i % 100 == 0) {
+                content.append("repeated,line ").append(i).append(",10,").append(i).append('\n');
+            } else {
+                content.append("name").append(i).append(",description,10,1\n");
+            }
+        }
+        Files.writeString(file, content);
+
+        ImportJob job = new ImportJob("job4", 100);
+
+        //when
+        _productImportService.Run(job, file, ImportFormat.CSV);
+
+        //then
+        Product repeated = _productRepository.findAllByNameIn(List.of("repeated")).get(0);
+        Assertions.assertAll(
+                () -> assertEquals("COMPLETED", job.ToStatusDto().status()),
+                () -> assertEquals(lines, repeated.getStockQuantity()),
+                () -> assertEquals("line " + lines, repeated.getDescription()));
+    }
+
+    @Test
+    void testRun_ShouldReportRowsAndLeaveProductsUntouched_WhenNameIsAmbiguous() throws Exception {
+        //given
+        _productRepository.saveAll(List.of(
+                Product.builder().name("twin").description("first").price(1).stockQuantity(1).build(),
+                Product.builder().name("twin").description("second").price(2).stockQuantity(2).build(),
+                Product.builder().name("single").description("old").price(3).stockQuantity(3).build()));
+
+        Path file = tempDir.resolve("ambiguous.csv");
+        Files.writeString(file, String.join("\n",
+                "name,description,price,stockQuantity",
+                "twin,updated,10,10",
+                "single,updated,10,10"));
+
+        ImportJob job = new ImportJob("job5", 100);
+
+        //when
+        _productImportService.Run(job, file, ImportFormat.CSV);
+
+        //then
+        ImportStatusDto status = job.ToStatusDto();
+        Assertions.assertAll(
+                () -> assertEquals("COMPLETED", status.status()),
+                () -> assertEquals(1, status.updated()),
+                () -> assertEquals(1, status.failed()),
+                () -> assertEquals(2L, status.errors().get(0).line()),
+                () -> assertTrue(status.errors().get(0).message().contains("ambiguous")),
+                () -> assertEquals(List.of("first", "second"), _productRepository.findAllByNameIn(List.of("twin")).stream()
+                        .map(Product::getDescription).sorted().toList()),
+                () -> assertEquals("updated", _productRepository.findAllByNameIn(List.of("single")).get(0).getDescription()));
+    }
+
+    @Test
+    void testStart_ShouldImportRequestBody_WhenStreamed() throws Exception {
+        //given
+        byte[] body = String.join("\n", "name,description,price,stockQuantity", "streamed,description,10,1")
+                .getBytes(StandardCharsets.UTF_8);
+
+        //when
+        ImportJob job = _productImportService.Start(new ByteArrayInputStream(body), ImportFormat.CSV);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (job.GetStatus() == ImportJob.Status.RUNNING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        //then
+        Assertions.assertAll(
+                () -> assertEquals(ImportJob.Status.COMPLETED, job.GetStatus()),
+                () -> assertEquals(1, job.ToStatusDto().created()),
+                () -> assertEquals(1, _productRepository.findAllByNameIn(List.of("streamed")).size()));
+    }
+
+    @Test
+    void testRun_ShouldFailJob_WhenFileDoesNotExist() {
+        ImportJob job = new ImportJob("job3", 100);
+
+        _productImportService.Run(job, tempDir.resolve("missing.csv"), ImportFormat.CSV);
+
+        assertEquals(ImportJob.Status.FAILED, job.GetStatus());
+        assertNotNull(job.ToStatusDto().failure());
+    }
+}
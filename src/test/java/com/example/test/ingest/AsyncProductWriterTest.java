@@ -0,0 +1,187 @@
+package com.example.test.ingest;
+
+import com.example.test.config.AsyncWriteProperties;
+import com.example.test.dto.CommandStatusDto;
+import com.example.test.dto.CreateProductDto;
+import com.example.test.dto.ProductDto;
+import com.example.test.dto.UpdateProductDto;
+import com.example.test.exceptions.NotFoundException;
+import com.example.test.exceptions.QueueFullException;
+import com.example.test.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncProductWriterTest {
+
+    private final ProductService _productService = Mockito.mock(ProductService.class);
+    private AsyncProductWriter _asyncProductWriter;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        _asyncProductWriter.Shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testApply_ShouldCoalesceUpdatesPerProductId_WhenSameIdQueuedTwice() {
+        //given
+        _asyncProductWriter = new AsyncProductWriter(_productService, Properties(1, 16));
+        UpdateProductDto first = new UpdateProductDto("id1", "first", "desc", 10, 1);
+        UpdateProductDto second = new UpdateProductDto("id1", "second", "desc", 20, 2);
+        UpdateProductDto missing = new UpdateProductDto("id2", "missing", "desc", 10, 1);
+
+        Mockito.when(_productService.UpdateAll(Mockito.any())).thenReturn(Set.of("id2"));
+
+        List<AsyncProductWriter.Command> batch = List.of(
+                new AsyncProductWriter.Command("c1", null, first),
+                new AsyncProductWriter.Command("c2", null, second),
+                new AsyncProductWriter.Command("c3", null, missing));
+
+        //when
+        _asyncProductWriter.Apply(batch);
+
+        //then
+        ArgumentCaptor<Collection<UpdateProductDto>> captor = ArgumentCaptor.forClass(Collection.class);
+        Mockito.verify(_productService).UpdateAll(captor.capture());
+        Assertions.assertAll(
+                () -> assertEquals(List.of(second, missing), new ArrayList<>(captor.getValue())),
+                () -> assertEquals("APPLIED", _asyncProductWriter.GetStatus("c1").status()),
+                () -> assertEquals("APPLIED", _asyncProductWriter.GetStatus("c2").status()),
+                () -> assertEquals("FAILED", _asyncProductWriter.GetStatus("c3").status()));
+    }
+
+    @Test
+    void testApply_ShouldFailOnlyTheBadCommands_WhenBatchFails() {
+        //given
+        _asyncProductWriter = new AsyncProductWriter(_productService, Properties(1, 16));
+        CreateProductDto good = new CreateProductDto("good", "desc", 10, 1);
+        CreateProductDto bad = new CreateProductDto("bad", "desc", 10, 1);
+        UpdateProductDto goodUpdate = new UpdateProductDto("id1", "good", "desc", 10, 1);
+        UpdateProductDto badUpdate = new UpdateProductDto("id2", "bad", "desc", 10, 1);
+
+        Mockito.when(_productService.AddAll(Mockito.any())).thenThrow(new IllegalStateException("batch"));
+        Mockito.when(_productService.Add(good)).thenReturn(Created(List.of(good)).get(0));
+        Mockito.when(_productService.Add(bad)).thenThrow(new IllegalStateException("bad create"));
+        Mockito.when(_productService.UpdateAll(Mockito.any())).thenThrow(new IllegalStateException("batch"));
+        Mockito.when(_productService.Update(badUpdate)).thenThrow(new IllegalStateException("bad update"));
+
+        //when
+        _asyncProductWriter.Apply(List.of(
+                new AsyncProductWriter.Command("c1", good, null),
+                new AsyncProductWriter.Command("c2", bad, null),
+                new AsyncProductWriter.Command("c3", null, goodUpdate),
+                new AsyncProductWriter.Command("c4", null, badUpdate)));
+
+        //then
+        Assertions.assertAll(
+                () -> assertEquals(new CommandStatusDto("c1", "APPLIED", "id-good", null), _asyncProductWriter.GetStatus("c1")),
+                () -> assertEquals(new CommandStatusDto("c2", "FAILED", null, "bad create"), _asyncProductWriter.GetStatus("c2")),
+                () -> assertEquals(new CommandStatusDto("c3", "APPLIED", "id1", null), _asyncProductWriter.GetStatus("c3")),
+                () -> assertEquals(new CommandStatusDto("c4", "FAILED", "id2", "bad update"), _asyncProductWriter.GetStatus("c4")));
+    }
+
+    @Test
+    void testSubmitCreate_ShouldThrowQueueFullException_WhenQueueIsFull() throws Exception {
+        //given
+        _asyncProductWriter = new AsyncProductWriter(_productService, Properties(1, 1));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(_productService.AddAll(Mockito.any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return Created(invocation.getArgument(0));
+        });
+        CreateProductDto createProductDto = new CreateProductDto("test", "desc", 10, 1);
+
+        //when
+        _asyncProductWriter.SubmitCreate(createProductDto);
+        started.await();
+        _asyncProductWriter.SubmitCreate(createProductDto);
+
+        //then
+        assertThrows(QueueFullException.class, () -> _asyncProductWriter.SubmitCreate(createProductDto));
+        release.countDown();
+    }
+
+    @Test
+    void testShutdown_ShouldApplyQueuedCommandsBeforeStopping() throws Exception {
+        //given
+        _asyncProductWriter = new AsyncProductWriter(_productService, Properties(2, 1000));
+        Mockito.when(_productService.AddAll(Mockito.any())).thenAnswer(invocation -> Created(invocation.getArgument(0)));
+
+        List<CommandStatusDto> submitted = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            submitted.add(_asyncProductWriter.SubmitCreate(new CreateProductDto("test" + i, "desc", 10, 1)));
+        }
+
+        //when
+        _asyncProductWriter.Shutdown();
+
+        //then
+        for (CommandStatusDto status : submitted) {
+            assertEquals("APPLIED", _asyncProductWriter.GetStatus(status.id()).status());
+        }
+        assertThrows(QueueFullException.class,
+                () -> _asyncProductWriter.SubmitCreate(new CreateProductDto("late", "desc", 10, 1)));
+    }
+
+    @Test
+    void testWork_ShouldFailBatchAndKeepPartitionAlive_WhenApplyThrowsError() throws Exception {
+        //given
+        _asyncProductWriter = new AsyncProductWriter(_productService, Properties(1, 16));
+        Mockito.when(_productService.AddAll(Mockito.any()))
+                .thenThrow(new OutOfMemoryError("simulated"))
+                .thenAnswer(invocation -> Created(invocation.getArgument(0)));
+
+        //when
+        CommandStatusDto failed = _asyncProductWriter.SubmitCreate(new CreateProductDto("first", "desc", 10, 1));
+        AwaitFinished(failed.id());
+        CommandStatusDto applied = _asyncProductWriter.SubmitCreate(new CreateProductDto("second", "desc", 10, 1));
+        AwaitFinished(applied.id());
+
+        //then
+        Assertions.assertAll(
+                () -> assertEquals("FAILED", _asyncProductWriter.GetStatus(failed.id()).status()),
+                () -> assertEquals("simulated", _asyncProductWriter.GetStatus(failed.id()).error()),
+                () -> assertEquals("APPLIED", _asyncProductWriter.GetStatus(applied.id()).status()));
+    }
+
+    @Test
+    void testGetStatus_ShouldThrowNotFoundException_WhenCommandDoesNotExist() {
+        _asyncProductWriter = new AsyncProductWriter(_productService, Properties(1, 16));
+
+        assertThrows(NotFoundException.class, () -> _asyncProductWriter.GetStatus("unknown"));
+    }
+
+    private void AwaitFinished(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while ("QUEUED".equals(_asyncProductWriter.GetStatus(id).status()) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static AsyncWriteProperties Properties(int workers, int queueCapacity) {
+        return new AsyncWriteProperties(workers, queueCapacity, 50, 10_000, Duration.ofSeconds(10));
+    }
+
+    private static List<ProductDto> Created(List<CreateProductDto> createProductDtos) {
+        List<ProductDto> created = new ArrayList<>();
+        for (CreateProductDto createProductDto : createProductDtos) {
+            created.add(new ProductDto("id-" + createProductDto.name(), createProductDto.name(),
+                    createProductDto.description(), createProductDto.price(), createProductDto.stockQuantity()));
+        }
+        return created;
+    }
+}
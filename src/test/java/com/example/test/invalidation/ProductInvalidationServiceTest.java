@@ -0,0 +1,150 @@
+package com.example.test.invalidation;
+
+import com.example.test.config.InvalidationProperties;
+import com.example.test.event.ProductChangedEvent;
+import com.example.test.mapper.ProductMapper;
+import com.example.test.model.Product;
+import com.example.test.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two nodes sharing a loopback bus over one mocked database.
+class ProductInvalidationServiceTest {
+
+    private final ProductMapper _mapper = new ProductMapper();
+    private final ProductRepository _productRepository = Mockito.mock(ProductRepository.class);
+    private final Map<String, Product> _database = new ConcurrentHashMap<>();
+    private final LoopbackInvalidationBus _bus = new LoopbackInvalidationBus();
+    private final BlockingQueue<List<ProductChangedEvent>> _nodeAChanges = new LinkedBlockingQueue<>();
+    private final BlockingQueue<List<ProductChangedEvent>> _nodeBChanges = new LinkedBlockingQueue<>();
+
+    private ProductInvalidationService _nodeA;
+    private ProductInvalidationService _nodeB;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        Mockito.when(_productRepository.findAllById(Mockito.any())).thenAnswer(invocation -> {
+            List<Product> found = new ArrayList<>();
+            for (String id : (Collection<String>) invocation.getArgument(0)) {
+                Product product = _database.get(id);
+                if (product != null) {
+                    found.add(product);
+                }
+            }
+            return found;
+        });
+        InvalidationProperties properties = Properties(Duration.ofMinutes(10));
+        _nodeA = new ProductInvalidationService(_bus, _productRepository, _mapper, List.<RemoteChangeListener>of(_nodeAChanges::add), properties);
+        _nodeB = new ProductInvalidationService(_bus, _productRepository, _mapper, List.<RemoteChangeListener>of(_nodeBChanges::add), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        _nodeA.Shutdown();
+        _nodeB.Shutdown();
+    }
+
+    @Test
+    void testOnProductChanged_ShouldRefetchOnOtherNodeOnce_WithLatestVersionPerId() throws InterruptedException {
+        //given
+        Product first = Store("id1", 12.0, 2);
+        Product second = Store("id2", 5.0, 1);
+
+        //when
+        _nodeA.OnProductChanged(Changed(first, 1));
+        _nodeA.OnProductChanged(Changed(first, 2));
+        _nodeA.OnProductChanged(Changed(second, 2));
+
+        //then
+        List<ProductChangedEvent> changes = _nodeBChanges.poll(5, TimeUnit.SECONDS);
+        assertNotNull(changes);
+        assertEquals(2, changes.size());
+        assertTrue(changes.contains(new ProductChangedEvent("id1", _mapper.MapToProductDto(first), 2)));
+        assertTrue(changes.contains(new ProductChangedEvent("id2", _mapper.MapToProductDto(second), 2)));
+        Mockito.verify(_productRepository, Mockito.times(1)).findAllById(Mockito.any());
+        assertNull(_nodeAChanges.poll(200, TimeUnit.MILLISECONDS), "a node must ignore its own invalidations");
+    }
+
+    @Test
+    void testOnInvalidations_ShouldIgnoreStaleAndDuplicateVersions() throws InterruptedException {
+        //given
+        Store("id1", 12.0, 3);
+        _nodeB.OnInvalidations(List.of(new Invalidation("id1", 3)));
+        assertNotNull(_nodeBChanges.poll(5, TimeUnit.SECONDS));
+
+        //when
+        _nodeB.OnInvalidations(List.of(new Invalidation("id1", 2), new Invalidation("id1", 3)));
+
+        //then
+        assertNull(_nodeBChanges.poll(200, TimeUnit.MILLISECONDS));
+        Mockito.verify(_productRepository, Mockito.times(1)).findAllById(Mockito.any());
+    }
+
+    @Test
+    void testOnProductChanged_ShouldPropagateDeleteWithoutRefetch_AndDeleteWinsOverLaterUpdates() throws InterruptedException {
+        //when
+        _nodeA.OnProductChanged(ProductChangedEvent.Deleted("id1"));
+
+        //then
+        assertEquals(List.of(ProductChangedEvent.Deleted("id1")), _nodeBChanges.poll(5, TimeUnit.SECONDS));
+        Mockito.verifyNoInteractions(_productRepository);
+
+        _nodeB.OnInvalidations(List.of(new Invalidation("id1", 7)));
+        assertNull(_nodeBChanges.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testRefetch_ShouldReportDeleted_WhenProductIsGoneFromDatabase() throws InterruptedException {
+        _nodeB.OnInvalidations(List.of(new Invalidation("id1", 4)));
+
+        assertEquals(List.of(ProductChangedEvent.Deleted("id1")), _nodeBChanges.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testEvictVersions_ShouldForgetVersionsOlderThanRetention() throws InterruptedException {
+        //given
+        ProductInvalidationService node = new ProductInvalidationService(new LoopbackInvalidationBus(), _productRepository,
+                _mapper, List.of(), Properties(Duration.ofMillis(1)));
+        node.OnProductChanged(ProductChangedEvent.Deleted("id1"));
+        Thread.sleep(10);
+
+        //when
+        node.EvictVersions();
+
+        //then
+        assertEquals(0, node.GetTrackedVersions());
+        node.Shutdown();
+    }
+
+    private static InvalidationProperties Properties(Duration versionRetention) {
+        return new InvalidationProperties(true, InvalidationProperties.Transport.LOOPBACK, Duration.ofMillis(20), 500,
+                Duration.ofMillis(20), Duration.ZERO, versionRetention, "127.0.0.1:0", List.of(), null);
+    }
+
+    private Product Store(String id, double price, int stockQuantity) {
+        Product product = Product.builder().id(id).name("name").description("description")
+                .price(price).stockQuantity(stockQuantity).build();
+        _database.put(id, product);
+        return product;
+    }
+
+    private ProductChangedEvent Changed(Product product, long version) {
+        product.setVersion(version);
+        return new ProductChangedEvent(product.getId(), _mapper.MapToProductDto(product), version);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.test.invalidation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UdpInvalidationBusTest {
+
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+
+    private final List<UdpInvalidationBus> _buses = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        _buses.forEach(UdpInvalidationBus::close);
+    }
+
+    @Test
+    void testEncode_ShouldSplitIntoDatagramsThatDecodeToTheSameBatch() {
+        //given
+        List<Invalidation> batch = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            batch.add(new Invalidation(UUID.randomUUID().toString(), i));
+        }
+
+        //when
+        List<byte[]> datagrams = UdpInvalidationBus.Encode(batch);
+
+        //then
+        assertTrue(datagrams.size() > 1);
+        List<Invalidation> decoded = new ArrayList<>();
+        for (byte[] datagram : datagrams) {
+            assertTrue(datagram.length <= UdpInvalidationBus.MAX_DATAGRAM_BYTES);
+            decoded.addAll(UdpInvalidationBus.Decode(ByteBuffer.wrap(datagram)));
+        }
+        assertEquals(batch, decoded);
+    }
+
+    @Test
+    void testDecode_ShouldRejectForeignOrTruncatedDatagrams() {
+        byte[] datagram = UdpInvalidationBus.Encode(List.of(new Invalidation("id1", 1))).get(0);
+
+        assertNull(UdpInvalidationBus.Decode(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5, 6})));
+        assertNull(UdpInvalidationBus.Decode(ByteBuffer.wrap(datagram, 0, datagram.length - 1)));
+    }
+
+    @Test
+    void testPublish_ShouldDeliverToPeerOnSameMachine() throws Exception {
+        //given
+        InetSocketAddress receiverAddress = FreeAddress();
+        InetSocketAddress senderAddress = FreeAddress();
+        UdpInvalidationBus receiver = Bus(receiverAddress, List.of(senderAddress), SECRET);
+        UdpInvalidationBus sender = Bus(senderAddress, List.of(receiverAddress), SECRET);
+        BlockingQueue<Invalidation> received = new LinkedBlockingQueue<>();
+        receiver.Subscribe(received::addAll);
+        List<Invalidation> batch = List.of(new Invalidation("id1", 1), new Invalidation("id2", Long.MAX_VALUE));
+
+        //when
+        sender.Publish(batch);
+
+        //then
+        List<Invalidation> delivered = new ArrayList<>();
+        while (delivered.size() < batch.size()) {
+            Invalidation invalidation = received.poll(5, TimeUnit.SECONDS);
+            assertNotNull(invalidation);
+            delivered.add(invalidation);
+        }
+        assertEquals(batch, delivered);
+    }
+
+    @Test
+    void testReceive_ShouldDropDatagrams_FromNonPeersOrWithWrongSecret() throws Exception {
+        //given
+        InetSocketAddress receiverAddress = FreeAddress();
+        InetSocketAddress peerAddress = FreeAddress();
+        UdpInvalidationBus receiver = Bus(receiverAddress, List.of(peerAddress), SECRET);
+        UdpInvalidationBus stranger = Bus(FreeAddress(), List.of(receiverAddress), SECRET);
+        UdpInvalidationBus impostor = Bus(peerAddress, List.of(receiverAddress),
+                "another-secret-of-at-least-32-bytes".getBytes(StandardCharsets.UTF_8));
+        BlockingQueue<Invalidation> received = new LinkedBlockingQueue<>();
+        receiver.Subscribe(received::addAll);
+
+        //when
+        stranger.Publish(List.of(new Invalidation("id1", 1)));
+        impostor.Publish(List.of(new Invalidation("id2", 1)));
+
+        //then
+        assertNull(received.poll(300, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testConstructor_ShouldReject_WildcardBindOrShortSecret() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new UdpInvalidationBus(new InetSocketAddress("0.0.0.0", 0), List.of(), SECRET));
+        assertThrows(IllegalArgumentException.class,
+                () -> new UdpInvalidationBus(new InetSocketAddress("127.0.0.1", 0), List.of(), new byte[16]));
+    }
+
+    private UdpInvalidationBus Bus(InetSocketAddress bindAddress, List<InetSocketAddress> peers, byte[] secret)
+            throws SocketException {
+        UdpInvalidationBus bus = new UdpInvalidationBus(bindAddress, peers, secret);
+        _buses.add(bus);
+        return bus;
+    }
+
+    // Peers are matched on their bound address, so both ends need a known port up front.
+    private static InetSocketAddress FreeAddress() throws SocketException {
+        try (DatagramSocket socket = new DatagramSocket(new InetSocketAddress("127.0.0.1", 0))) {
+            return new InetSocketAddress("127.0.0.1", socket.getLocalPort());
+        }
+    }
+}
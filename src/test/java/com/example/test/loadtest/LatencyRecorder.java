@@ -0,0 +1,74 @@
+package com.example.test.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+// Per-worker latency samples, kept raw so percentiles are exact. One recorder per thread, merged
+// once the run is over.
+final class LatencyRecorder {
+
+    private long[] _samples = new long[1 << 14];
+    private int _count;
+    private long _errors;
+
+    void Record(long nanos, boolean ok) {
+        if (_count == _samples.length) {
+            _samples = Arrays.copyOf(_samples, _samples.length * 2);
+        }
+        _samples[_count++] = nanos;
+        if (!ok) {
+            _errors++;
+        }
+    }
+
+    int GetCount() {
+        return _count;
+    }
+
+    static Report Summarize(String endpoint, List<LatencyRecorder> recorders, Duration elapsed) {
+        int total = 0;
+        long errors = 0;
+        for (LatencyRecorder recorder : recorders) {
+            total += recorder._count;
+            errors += recorder._errors;
+        }
+        long[] merged = new long[total];
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder._samples, 0, merged, offset, recorder._count);
+            offset += recorder._count;
+        }
+        Arrays.sort(merged);
+
+        double seconds = elapsed.toNanos() / 1e9;
+        return new Report(endpoint, total, errors, seconds == 0 ? 0 : total / seconds,
+                Percentile(merged, 500), Percentile(merged, 900), Percentile(merged, 990),
+                Percentile(merged, 999), total == 0 ? 0 : merged[total - 1]);
+    }
+
+    // Nearest-rank percentile over sorted samples, in per mille (990 = p99) so the rank is exact
+    // integer math: 99.9 / 100 * n in doubles rounds 99900 up to 99901 for n = 100,000.
+    static long Percentile(long[] sorted, int perMille) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) ((perMille * (long) sorted.length + 999) / 1000);
+        return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+    }
+
+    record Report(String endpoint, long requests, long errors, double rps,
+                  long p50, long p90, long p99, long p999, long max) {
+
+        static String Header() {
+            return String.format("%-28s %10s %8s %10s %9s %9s %9s %9s %9s",
+                    "endpoint", "requests", "errors", "rps", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-28s %10d %8d %10.0f %9.2f %9.2f %9.2f %9.2f %9.2f",
+                    endpoint, requests, errors, rps, p50 / 1e6, p90 / 1e6, p99 / 1e6, p999 / 1e6, max / 1e6);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.test.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyRecorderTest {
+
+    @Test
+    void testSummarize_ShouldMergeWorkersAndComputePercentiles() {
+        //given
+        LatencyRecorder first = new LatencyRecorder();
+        LatencyRecorder second = new LatencyRecorder();
+        for (int i = 1; i <= 50_000; i++) {
+            first.Record(i, true);
+            second.Record(50_000 + i, i % 1000 != 0);
+        }
+
+        //when
+        LatencyRecorder.Report report = LatencyRecorder.Summarize("GET", List.of(first, second), Duration.ofSeconds(2));
+
+        //then
+        assertEquals(100_000, report.requests());
+        assertEquals(50, report.errors());
+        assertEquals(50_000, report.rps(), 0.001);
+        assertEquals(50_000, report.p50());
+        assertEquals(90_000, report.p90());
+        assertEquals(99_000, report.p99());
+        assertEquals(99_900, report.p999());
+        assertEquals(100_000, report.max());
+    }
+
+    @Test
+    void testSummarize_ShouldReportZeros_WhenNoSamples() {
+        LatencyRecorder.Report report = LatencyRecorder.Summarize("GET", List.of(new LatencyRecorder()), Duration.ofSeconds(1));
+
+        assertEquals(0, report.requests());
+        assertEquals(0, report.p99());
+        assertEquals(0, report.max());
+    }
+}
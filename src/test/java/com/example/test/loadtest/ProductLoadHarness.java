@@ -0,0 +1,208 @@
+package com.example.test.loadtest;
+
+import com.example.test.TestApplication;
+import com.example.test.dto.CreateProductDto;
+import com.example.test.dto.UpdateProductDto;
+import com.example.test.model.Product;
+import com.example.test.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+// End-to-end load test: boots the app with the tuned profile on a random port, seeds the H2 catalog,
+// then drives every ProductController endpoint in turn with a closed loop of `concurrency` clients
+// and prints RPS and latency percentiles per endpoint.
+//
+// Run with: mvn -Pload-test test-compile exec:java
+// Settings (system properties): loadtest.products=10000, loadtest.concurrency=32,
+// loadtest.warmup=5s, loadtest.duration=20s, loadtest.http-version=HTTP_2 (or HTTP_1_1).
+// Any application property can be overridden the same way, e.g. -Dproduct.catalog.enabled=true.
+public final class ProductLoadHarness {
+
+    private static final String ENDPOINT = "/api/v1/products/";
+    private static final String SECRET = "load-test-secret-with-at-least-32-bytes";
+
+    private final int _products = Integer.getInteger("loadtest.products", 10_000);
+    private final int _concurrency = Integer.getInteger("loadtest.concurrency", 32);
+    private final Duration _warmup = Duration.parse("PT" + System.getProperty("loadtest.warmup", "5s"));
+    private final Duration _duration = Duration.parse("PT" + System.getProperty("loadtest.duration", "20s"));
+    private final HttpClient.Version _version =
+            HttpClient.Version.valueOf(System.getProperty("loadtest.http-version", "HTTP_2"));
+
+    private ObjectMapper _objectMapper;
+    private HttpClient _client;
+    private String _baseUrl;
+    private String _authorization;
+    private List<String> _ids;
+    private List<String> _deletableIds;
+
+    public static void main(String[] args) throws Exception {
+        new ProductLoadHarness().Run();
+    }
+
+    private void Run() throws Exception {
+        try (ConfigurableApplicationContext context = SpringApplication.run(TestApplication.class,
+                "--spring.profiles.active=tuned",
+                "--server.port=0",
+                "--product.rate-limit.enabled=false",
+                "--product.security.jwt.secret=" + SECRET)) {
+            _objectMapper = context.getBean(ObjectMapper.class);
+            _baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + ENDPOINT;
+            _authorization = "Bearer " + Token();
+            Seed(context.getBean(ProductRepository.class));
+
+            ExecutorService workers = Executors.newFixedThreadPool(_concurrency);
+            _client = HttpClient.newBuilder()
+                    .version(_version)
+                    .executor(Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors())))
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            try {
+                System.out.printf("%d products, %d clients, %s, %s warmup, %s measured%n",
+                        _products, _concurrency, _version, _warmup, _duration);
+                System.out.println(LatencyRecorder.Report.Header());
+                for (Map.Entry<String, IntFunction<HttpRequest>> scenario : Scenarios().entrySet()) {
+                    Drive(workers, scenario.getKey(), scenario.getValue(), _warmup);
+                    System.out.println(Drive(workers, scenario.getKey(), scenario.getValue(), _duration));
+                }
+            } finally {
+                workers.shutdownNow();
+            }
+        }
+    }
+
+    // Reads first, then writes; deletes last since they consume the seeded catalog.
+    private Map<String, IntFunction<HttpRequest>> Scenarios() {
+        AtomicInteger deleteCursor = new AtomicInteger();
+        Map<String, IntFunction<HttpRequest>> scenarios = new LinkedHashMap<>();
+        scenarios.put("GET /products", i -> Request("").GET().build());
+        scenarios.put("GET /products/{id}", i -> Request(RandomId()).GET().build());
+        scenarios.put("GET /products/stats", i -> Request("stats").GET().build());
+        scenarios.put("PUT /products", i -> Request("").header("Content-Type", "application/json")
+                .PUT(Body(new UpdateProductDto(RandomId(), "name" + i, "updated " + i, i % 1000 + 1, i % 100 + 1)))
+                .build());
+        scenarios.put("POST /products", i -> Request("").header("Content-Type", "application/json")
+                .POST(Body(new CreateProductDto("load" + i, "created " + i, i % 1000 + 1, i % 100 + 1)))
+                .build());
+        scenarios.put("DELETE /products/{id}", i -> Request(NextDeletable(deleteCursor, 1).get(0))
+                .DELETE().build());
+        scenarios.put("DELETE /products", i -> Request("").header("Content-Type", "application/json")
+                .method("DELETE", Body(NextDeletable(deleteCursor, 10)))
+                .build());
+        return scenarios;
+    }
+
+    private LatencyRecorder.Report Drive(ExecutorService workers, String name, IntFunction<HttpRequest> scenario,
+                                         Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicInteger sequence = new AtomicInteger();
+        List<Future<LatencyRecorder>> futures = new ArrayList<>(_concurrency);
+        long started = System.nanoTime();
+        for (int w = 0; w < _concurrency; w++) {
+            futures.add(workers.submit(() -> {
+                LatencyRecorder recorder = new LatencyRecorder();
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request = scenario.apply(sequence.getAndIncrement());
+                    long start = System.nanoTime();
+                    boolean ok;
+                    try {
+                        int status = _client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        ok = status >= 200 && status < 300;
+                    } catch (java.io.IOException e) {
+                        ok = false;
+                    }
+                    recorder.Record(System.nanoTime() - start, ok);
+                }
+                return recorder;
+            }));
+        }
+        List<LatencyRecorder> recorders = new ArrayList<>(_concurrency);
+        for (Future<LatencyRecorder> future : futures) {
+            recorders.add(future.get());
+        }
+        return LatencyRecorder.Summarize(name, recorders, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    // Half the catalog is read and updated, the other half is handed out once to the delete scenarios.
+    // Once it runs out deletes hit already deleted ids and show up as errors (404).
+    private void Seed(ProductRepository repository) {
+        List<Product> batch = new ArrayList<>(1000);
+        for (int i = 0; i < _products * 2; i++) {
+            batch.add(Product.builder().name("name" + i).description("description " + i)
+                    .price(i % 1000 + 1.5).stockQuantity(i % 100 + 1).build());
+            if (batch.size() == 1000) {
+                repository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        repository.saveAll(batch);
+
+        List<String> ids = new ArrayList<>(_products * 2);
+        repository.findAll().forEach(product -> ids.add(product.getId()));
+        _ids = ids.subList(0, ids.size() / 2);
+        _deletableIds = ids.subList(ids.size() / 2, ids.size());
+    }
+
+    private List<String> NextDeletable(AtomicInteger cursor, int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(_deletableIds.get(Math.floorMod(cursor.getAndIncrement(), _deletableIds.size())));
+        }
+        return ids;
+    }
+
+    private String RandomId() {
+        return _ids.get(ThreadLocalRandom.current().nextInt(_ids.size()));
+    }
+
+    private HttpRequest.Builder Request(String path) {
+        return HttpRequest.newBuilder(URI.create(_baseUrl + path))
+                .header("Authorization", _authorization)
+                .timeout(Duration.ofSeconds(30));
+    }
+
+    private HttpRequest.BodyPublisher Body(Object value) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(_objectMapper.writeValueAsBytes(value));
+        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String Token() throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("load-test")
+                .claim("roles", List.of("ADMIN"))
+                .issueTime(new Date())
+                .expirationTime(Date.from(Instant.now().plus(Duration.ofHours(12))))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner(SECRET.getBytes(StandardCharsets.UTF_8)));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.test.mapper;
+
+import com.example.test.dto.ProductDto;
+import com.example.test.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductJsonWriterTest {
+
+    private final ObjectMapper _objectMapper = new ObjectMapper();
+    private final ProductJsonWriter _productJsonWriter = new ProductJsonWriter(_objectMapper);
+
+    @Test
+    void testWrite_ShouldProduceSameJsonAsProductDtoList_WhenValidRequest() throws Exception {
+        List<Product> products = List.of(
+                Product.builder().id("id1").name("test").description("desc \"quoted\"").price(10.5).stockQuantity(1).build(),
+                Product.builder().id("id2").name("test2").description("description2").price(10).stockQuantity(3).build());
+
+        List<ProductDto> productDtos = List.of(
+                new ProductDto("id1", "test", "desc \"quoted\"", 10.5, 1),
+                new ProductDto("id2", "test2", "description2", 10, 3));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        _productJsonWriter.Write(products, outputStream);
+
+        assertEquals(_objectMapper.writeValueAsString(productDtos), outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testWrite_ShouldProduceEmptyArray_WhenNoProducts() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        _productJsonWriter.Write(List.of(), outputStream);
+
+        assertEquals("[]", outputStream.toString(StandardCharsets.UTF_8));
+    }
+}
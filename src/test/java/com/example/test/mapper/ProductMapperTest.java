@@ -2,6 +2,7 @@ package com.example.test.mapper;
 
 import com.example.test.dto.CreateProductDto;
 import com.example.test.dto.ProductDto;
+import com.example.test.dto.UpdateProductDto;
 import com.example.test.model.Product;
 import org.junit.jupiter.api.Test;
 
@@ -36,7 +37,29 @@ class ProductMapperTest {
 
         Product result = _productMapper.MapToProduct(CreateProductDto);
 
-        assertEquals(expect, result);
+        assertAll(
+                () -> assertEquals(expect.getName(), result.getName()),
+                () -> assertEquals(expect.getDescription(), result.getDescription()),
+                () -> assertEquals(expect.getPrice(), result.getPrice()),
+                () -> assertEquals(expect.getStockQuantity(), result.getStockQuantity()));
+    }
+
+    @Test
+    void testUpdateProduct_ShouldCopyFieldsAndKeepId_WhenValidRequest() {
+
+        Product product = Product.builder().id("id1")
+                .name("name").description("desc").price(10).stockQuantity(1).build();
+
+        UpdateProductDto updateProductDto = new UpdateProductDto("id1", "updateName", "updateDesc", 15, 100);
+
+        _productMapper.UpdateProduct(product, updateProductDto);
+
+        assertAll(
+                () -> assertEquals("id1", product.getId()),
+                () -> assertEquals(updateProductDto.name(), product.getName()),
+                () -> assertEquals(updateProductDto.description(), product.getDescription()),
+                () -> assertEquals(updateProductDto.price(), product.getPrice()),
+                () -> assertEquals(updateProductDto.stockQuantity(), product.getStockQuantity()));
     }
 
 
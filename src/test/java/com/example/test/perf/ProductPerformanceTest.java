@@ -0,0 +1,188 @@
+package com.example.test.perf;
+
+import com.example.test.dto.UpdateProductDto;
+import com.example.test.model.Product;
+import com.example.test.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Performance tier, run with: mvn -Pperf test
+// Seeds a large catalog and pins, per endpoint, the SQL issued, the bytes allocated by the request
+// thread and the latency. Bounds are deliberately loose: they exist to catch regressions of an order
+// of magnitude (an N+1, a second select in Update, a full-table load behind a single-row endpoint),
+// not to track small drifts.
+@Tag("performance")
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.test.perf.QueryCounter",
+        "spring.jpa.show-sql=false",
+        "product.rate-limit.enabled=false",
+        "product.catalog.enabled=false"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductPerformanceTest {
+
+    private static final String ENDPOINT = "/api/v1/products/";
+    private static final int PRODUCTS = Integer.getInteger("perf.products", 50_000);
+    private static final int SAMPLES = 200;
+
+    private static final long SINGLE_ROW_MAX_ALLOCATED_BYTES = 2L * 1024 * 1024;
+    private static final long GET_ALL_MAX_ALLOCATED_BYTES_PER_PRODUCT = 4 * 1024;
+    private static final long GET_BY_ID_MAX_P99_MILLIS = 25;
+    private static final long UPDATE_MAX_P99_MILLIS = 50;
+    private static final long GET_ALL_MAX_P50_MILLIS = 3_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository _productRepository;
+    @Autowired
+    private ObjectMapper _objectMapper;
+
+    private List<String> _ids;
+
+    @BeforeAll
+    void seed() {
+        List<Product> batch = new ArrayList<>(1000);
+        _ids = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            batch.add(Product.builder().name("name" + i).description("description " + i)
+                    .price(i % 1000 + 1.5).stockQuantity(i % 100 + 1).build());
+            if (batch.size() == 1000 || i == PRODUCTS - 1) {
+                _productRepository.saveAll(batch).forEach(product -> _ids.add(product.getId()));
+                batch.clear();
+            }
+        }
+    }
+
+    @AfterAll
+    void tearDown() {
+        _productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testGetById_ShouldIssueOneSelect_AndStayWithinBounds() throws Exception {
+        Measurement measurement = Measure(i -> MockMvcRequestBuilders.get(ENDPOINT + "{id}", Id(i)), SAMPLES);
+
+        assertEquals(List.of("select"), measurement.verbs(), measurement.statements().toString());
+        assertTrue(measurement.statements().get(0).contains("where"), "GetById must not scan the table");
+        assertTrue(measurement.allocatedBytes() < SINGLE_ROW_MAX_ALLOCATED_BYTES,
+                "GetById allocated " + measurement.allocatedBytes() + " bytes");
+        assertTrue(measurement.p99Millis() < GET_BY_ID_MAX_P99_MILLIS, "GetById p99 " + measurement.p99Millis() + "ms");
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testUpdate_ShouldIssueOneSelectAndOneUpdate_AndStayWithinBounds() throws Exception {
+        Measurement measurement = Measure(i -> MockMvcRequestBuilders.put(ENDPOINT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(_objectMapper.writeValueAsString(
+                        new UpdateProductDto(Id(i), "updated" + i, "updated description", 20, 5))), SAMPLES);
+
+        assertEquals(List.of("select", "update"), measurement.verbs(), measurement.statements().toString());
+        assertTrue(measurement.allocatedBytes() < SINGLE_ROW_MAX_ALLOCATED_BYTES,
+                "Update allocated " + measurement.allocatedBytes() + " bytes");
+        assertTrue(measurement.p99Millis() < UPDATE_MAX_P99_MILLIS, "Update p99 " + measurement.p99Millis() + "ms");
+    }
+
+    @Test
+    void testGetAll_ShouldIssueOneSelect_AndStayWithinBounds() throws Exception {
+        Measurement measurement = Measure(i -> MockMvcRequestBuilders.get(ENDPOINT), 10);
+
+        assertEquals(List.of("select"), measurement.verbs(), measurement.statements().toString());
+        assertTrue(measurement.allocatedBytes() < (long) PRODUCTS * GET_ALL_MAX_ALLOCATED_BYTES_PER_PRODUCT,
+                "GetAll allocated " + measurement.allocatedBytes() + " bytes for " + PRODUCTS + " products");
+        assertTrue(measurement.p50Millis() < GET_ALL_MAX_P50_MILLIS, "GetAll p50 " + measurement.p50Millis() + "ms");
+    }
+
+    @Test
+    void testGetStats_ShouldNotQuery() throws Exception {
+        Measurement measurement = Measure(i -> MockMvcRequestBuilders.get(ENDPOINT + "stats"), 10);
+
+        assertEquals(List.of(), measurement.statements());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testDeleteAll_ShouldIssueOneUpdate_RegardlessOfIdCount() throws Exception {
+        List<String> ids = _ids.subList(_ids.size() - 500, _ids.size());
+
+        QueryCounter.Reset();
+        mockMvc.perform(MockMvcRequestBuilders.delete(ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(_objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isNoContent());
+
+        assertEquals(1, QueryCounter.Statements().size(), QueryCounter.Statements().toString());
+        assertEquals(1, QueryCounter.Count("update"));
+    }
+
+    // Warms up, then runs `samples` requests. Statements and allocation are taken from the last
+    // request; latency percentiles from all of them.
+    private Measurement Measure(RequestFactory factory, int samples) throws Exception {
+        for (int i = 0; i < Math.min(samples, 20); i++) {
+            mockMvc.perform(factory.Create(i)).andExpect(status().is2xxSuccessful());
+        }
+        long[] nanos = new long[samples];
+        List<String> statements = List.of();
+        long allocated = 0;
+        for (int i = 0; i < samples; i++) {
+            RequestBuilder request = factory.Create(i);
+            QueryCounter.Reset();
+            long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+            nanos[i] = System.nanoTime() - start;
+            allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            statements = QueryCounter.Statements();
+        }
+        Arrays.sort(nanos);
+        return new Measurement(statements, allocated,
+                nanos[samples / 2] / 1_000_000, nanos[(int) Math.ceil(samples * 0.99) - 1] / 1_000_000);
+    }
+
+    // Reads and updates stay in the first half so the bulk delete never touches their rows.
+    private String Id(int i) {
+        return _ids.get(i * 7919 % (_ids.size() / 2));
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+        RequestBuilder Create(int i) throws Exception;
+    }
+
+    private record Measurement(List<String> statements, long allocatedBytes, long p50Millis, long p99Millis) {
+
+        List<String> verbs() {
+            return statements.stream().map(sql -> sql.substring(0, sql.indexOf(' ')).toLowerCase()).toList();
+        }
+    }
+}
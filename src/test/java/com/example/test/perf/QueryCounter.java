@@ -0,0 +1,32 @@
+package com.example.test.perf;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Records the SQL Hibernate prepares on the current thread. MockMvc dispatches on the test thread,
+// so a request's statements are exactly those recorded between Reset() and Statements().
+// Registered through hibernate.session_factory.statement_inspector, hence public.
+public class QueryCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+    static void Reset() {
+        STATEMENTS.get().clear();
+    }
+
+    static List<String> Statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+
+    static long Count(String verb) {
+        return STATEMENTS.get().stream().filter(sql -> sql.regionMatches(true, 0, verb, 0, verb.length())).count();
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.test.perf;
+
+import com.example.test.config.RateLimitProperties;
+import com.example.test.ratelimit.RateLimitFilter;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Overload in front of a saturated backend: CLIENTS closed-loop clients against a "connection pool" of
+// POOL_SIZE permits with SERVICE_MILLIS of work each, i.e. CLIENTS / POOL_SIZE times its capacity.
+// Without the filter every request queues for the pool and p99 grows with the queue; with it, the
+// excess is shed with a fast 503 and admitted requests stay close to the bare service time.
+@Tag("performance")
+class RateLimitOverloadTest {
+
+    private static final int CLIENTS = 64;
+    private static final int POOL_SIZE = 8;
+    private static final long SERVICE_MILLIS = 5;
+    private static final long RUN_MILLIS = 3_000;
+    private static final long ADMITTED_MAX_P99_MILLIS = 4 * SERVICE_MILLIS;
+    private static final long REJECTED_MAX_P99_MILLIS = 2;
+
+    private final Semaphore _pool = new Semaphore(POOL_SIZE, true);
+    private final FilterChain _backend = (request, response) -> {
+        _pool.acquireUninterruptibly();
+        try {
+            Thread.sleep(SERVICE_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            _pool.release();
+        }
+    };
+
+    @Test
+    void testOverload_ShouldKeepAdmittedP99Bounded_AndShedTheRestFast() throws Exception {
+        //given
+        RateLimitFilter rateLimitFilter = new RateLimitFilter(new RateLimitProperties(true,
+                1_000_000, 1_000_000, 1_000_000, 1_000_000, 10_000,
+                POOL_SIZE / 2, POOL_SIZE, POOL_SIZE, Duration.ofMillis(ADMITTED_MAX_P99_MILLIS), Set.of(), Set.of()));
+
+        //when
+        Result unprotected = Drive((request, response) -> _backend.doFilter(request, response));
+        Result protectedRun = Drive((request, response) -> rateLimitFilter.doFilter(request, response, _backend));
+        System.out.printf("unprotected: %s%nrate limited: %s%n", unprotected, protectedRun);
+
+        //then
+        assertTrue(protectedRun.rejected() > 0, "overload should be shed");
+        assertTrue(protectedRun.admittedP99Millis() <= ADMITTED_MAX_P99_MILLIS,
+                "admitted p99 " + protectedRun.admittedP99Millis() + " ms");
+        assertTrue(protectedRun.rejectedP99Millis() <= REJECTED_MAX_P99_MILLIS,
+                "rejected p99 " + protectedRun.rejectedP99Millis() + " ms");
+        assertTrue(unprotected.admittedP99Millis() > 2 * protectedRun.admittedP99Millis(),
+                "unprotected p99 " + unprotected.admittedP99Millis() + " ms");
+    }
+
+    private Result Drive(FilterChain entry) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RUN_MILLIS);
+        List<Future<long[][]>> futures = new ArrayList<>(CLIENTS);
+        try {
+            for (int client = 0; client < CLIENTS; client++) {
+                futures.add(clients.submit(() -> Client(entry, deadline)));
+            }
+            List<long[]> admitted = new ArrayList<>();
+            List<long[]> rejected = new ArrayList<>();
+            for (Future<long[][]> future : futures) {
+                long[][] samples = future.get();
+                admitted.add(samples[0]);
+                rejected.add(samples[1]);
+            }
+            long[] admittedSorted = Merge(admitted);
+            long[] rejectedSorted = Merge(rejected);
+            return new Result(admittedSorted.length, rejectedSorted.length,
+                    P99Millis(admittedSorted), P99Millis(rejectedSorted));
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    // Rejected clients back off for a millisecond, standing in for honouring Retry-After.
+    private static long[][] Client(FilterChain entry, long deadline) throws Exception {
+        long[] admitted = new long[1024];
+        long[] rejected = new long[1024];
+        int admittedCount = 0;
+        int rejectedCount = 0;
+        while (System.nanoTime() < deadline) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products/");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            long start = System.nanoTime();
+            entry.doFilter(request, response);
+            long elapsed = System.nanoTime() - start;
+            if (response.getStatus() == 200) {
+                if (admittedCount == admitted.length) {
+                    admitted = Arrays.copyOf(admitted, admittedCount * 2);
+                }
+                admitted[admittedCount++] = elapsed;
+            } else {
+                if (rejectedCount == rejected.length) {
+                    rejected = Arrays.copyOf(rejected, rejectedCount * 2);
+                }
+                rejected[rejectedCount++] = elapsed;
+                Thread.sleep(1);
+            }
+        }
+        return new long[][]{Arrays.copyOf(admitted, admittedCount), Arrays.copyOf(rejected, rejectedCount)};
+    }
+
+    private static long[] Merge(List<long[]> parts) {
+        long[] merged = parts.stream().flatMapToLong(Arrays::stream).toArray();
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    private static double P99Millis(long[] sorted) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) ((99L * sorted.length + 99) / 100);
+        return sorted[rank - 1] / 1e6;
+    }
+
+    private record Result(long admitted, long rejected, double admittedP99Millis, double rejectedP99Millis) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.test.query;
+
+import com.example.test.catalog.CatalogSnapshot;
+import com.example.test.dto.PriceBucketDto;
+import com.example.test.dto.ProductDto;
+import com.example.test.dto.ProductQueryDto;
+import com.example.test.dto.ProductQueryResultDto;
+import com.example.test.mapper.ProductJsonWriter;
+import com.example.test.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductQueryEngineTest {
+
+    private static final int SIZE = 5 * ProductQueryEngine.LEAF_SIZE + 123;
+
+    private static ForkJoinPool _pool;
+    private static CatalogSnapshot _snapshot;
+    private static ProductQueryEngine _engine;
+
+    @BeforeAll
+    static void setUp() throws IOException {
+        Random random = new Random(42);
+        List<Product> products = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            products.add(Product.builder().id(new UUID(random.nextLong(), random.nextLong()).toString())
+                    .name((i % 3 == 0 ? "alpha" : "beta") + i).description("description " + i)
+                    .price(random.nextInt(2000) / 4.0).stockQuantity(random.nextInt(50)).build());
+        }
+        _snapshot = CatalogSnapshot.Build(products, new ProductJsonWriter(new ObjectMapper()));
+        _pool = new ForkJoinPool(4);
+        _engine = new ProductQueryEngine(_pool);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        _pool.shutdown();
+    }
+
+    @Test
+    void testExecute_ShouldMatchSequentialEvaluation_ForFiltersTopKAndBuckets() {
+        List<ProductQuery> queries = List.of(
+                ProductQuery.Of(new ProductQueryDto(null, null, null, null, null, null, null, null, null)),
+                ProductQuery.Of(new ProductQueryDto(100.0, 300.0, 10, null, "alpha", 25.0, null, null, 50)),
+                ProductQuery.Of(new ProductQueryDto(null, 50.0, null, 5, null, 7.5, ProductQueryDto.OrderBy.STOCK, false, 20)),
+                ProductQuery.Of(new ProductQueryDto(null, null, null, null, "beta1", 100.0, ProductQueryDto.OrderBy.PRICE, false, 1000)),
+                ProductQuery.Of(new ProductQueryDto(600.0, null, null, null, null, 10.0, null, null, 10)));
+
+        for (ProductQuery query : queries) {
+            assertEquals(Sequential(query), _engine.Execute(_snapshot, query), query.toString());
+        }
+    }
+
+    @Test
+    void testExecute_ShouldReturnEmptyResult_WhenNothingMatches() {
+        ProductQuery query = ProductQuery.Of(new ProductQueryDto(null, null, null, null, "gamma", 10.0, null, null, 10));
+
+        ProductQueryResultDto result = _engine.Execute(_snapshot, query);
+
+        assertEquals(new ProductQueryResultDto(0, List.of(), List.of()), result);
+    }
+
+    @Test
+    void testExecute_ShouldSkipTopK_WhenLimitIsZero() {
+        ProductQuery query = ProductQuery.Of(new ProductQueryDto(null, null, null, null, null, null, null, null, 0));
+
+        ProductQueryResultDto result = _engine.Execute(_snapshot, query);
+
+        assertEquals(SIZE, result.matched());
+        assertTrue(result.top().isEmpty());
+    }
+
+    // Straightforward single-threaded version of the same query: filter, full sort, group.
+    private static ProductQueryResultDto Sequential(ProductQuery query) {
+        List<Integer> matches = IntStream.range(0, _snapshot.Size())
+                .filter(i -> query.Matches(_snapshot.Price(i), _snapshot.StockQuantity(i), _snapshot.Name(i)))
+                .boxed().toList();
+
+        IntTopK.IndexOrder order = ProductQueryEngine.Order(_snapshot, query);
+        List<ProductDto> top = matches.stream()
+                .sorted(Comparator.comparing((Integer i) -> i, order::Compare))
+                .limit(query.limit())
+                .map(_snapshot::Get)
+                .toList();
+
+        List<PriceBucketDto> buckets = new ArrayList<>();
+        if (query.Grouped()) {
+            TreeMap<Long, List<Integer>> grouped = new TreeMap<>();
+            for (int i : matches) {
+                grouped.computeIfAbsent(query.Bucket(_snapshot.Price(i)), key -> new ArrayList<>()).add(i);
+            }
+            grouped.forEach((key, rows) -> buckets.add(new PriceBucketDto(key * query.bucketWidth(),
+                    (key + 1) * query.bucketWidth(), rows.size(),
+                    rows.stream().mapToDouble(_snapshot::Price).min().orElseThrow(),
+                    rows.stream().mapToDouble(_snapshot::Price).max().orElseThrow(),
+                    rows.stream().mapToLong(_snapshot::StockQuantity).sum())));
+        }
+        return new ProductQueryResultDto(matches.size(), top, buckets);
+    }
+}
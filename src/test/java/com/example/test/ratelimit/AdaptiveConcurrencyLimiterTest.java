@@ -0,0 +1,89 @@
+package com.example.test.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = 1_000_000L;
+    private static final long SLOW = 1_000_000_000L;
+
+    @Test
+    void testTryAcquire_ShouldReject_WhenLimitReached() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 2, 100 * FAST);
+
+        assertTrue(limiter.TryAcquire());
+        assertTrue(limiter.TryAcquire());
+        assertFalse(limiter.TryAcquire());
+
+        limiter.Release(FAST, false);
+        assertTrue(limiter.TryAcquire());
+    }
+
+    @Test
+    void testRelease_ShouldDecreaseLimit_WhenLatencyAboveThreshold() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 20, 100 * FAST);
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.TryAcquire());
+            limiter.Release(SLOW, false);
+        }
+
+        assertEquals(2, limiter.GetLimit());
+        assertEquals(0, limiter.GetInFlight());
+    }
+
+    @Test
+    void testRelease_ShouldIncreaseLimit_WhenFastAndLimitInUse() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 4, 100 * FAST);
+        limiter.TryAcquire();
+        limiter.Release(SLOW, true);
+        int reduced = limiter.GetLimit();
+
+        for (int i = 0; i < reduced; i++) {
+            limiter.TryAcquire();
+        }
+        limiter.Release(FAST, false);
+
+        assertEquals(reduced + 1, limiter.GetLimit());
+    }
+
+    @Test
+    void testTryAcquire_ShouldNeverExceedLimit_WhenOverloaded() throws Exception {
+        int maxLimit = 8;
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, maxLimit, SLOW);
+        AtomicInteger maxObserved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        int threads = 64;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 2_000; i++) {
+                    if (limiter.TryAcquire()) {
+                        maxObserved.accumulateAndGet(limiter.GetInFlight(), Math::max);
+                        limiter.Release(FAST, false);
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertTrue(maxObserved.get() <= maxLimit);
+        assertEquals(0, limiter.GetInFlight());
+    }
+}
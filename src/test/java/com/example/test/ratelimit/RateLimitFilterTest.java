@@ -0,0 +1,110 @@
+package com.example.test.ratelimit;
+
+import com.example.test.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private static final String ENDPOINT = "/api/v1/products/";
+
+    private static final Set<String> API_KEYS = Set.of("client1", "client2", "client3");
+
+    private static final Set<String> TRUSTED_PROXIES = Set.of("10.0.0.1", "10.0.0.2");
+
+    private final RateLimitFilter _rateLimitFilter = new RateLimitFilter(
+            new RateLimitProperties(true, 1, 2, 1, 1, 100, 1, 4, 2, Duration.ofSeconds(1), API_KEYS, TRUSTED_PROXIES));
+
+    @Test
+    void testDoFilter_ShouldReturnTooManyRequests_WhenClientExceedsReadBurst() throws Exception {
+        assertEquals(200, Perform("GET", "client1").getStatus());
+        assertEquals(200, Perform("GET", "client1").getStatus());
+
+        MockHttpServletResponse response = Perform("GET", "client1");
+
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void testDoFilter_ShouldUseSeparateBudgets_WhenReadAndWrite() throws Exception {
+        assertEquals(200, Perform("DELETE", "client1").getStatus());
+        assertEquals(429, Perform("PUT", "client1").getStatus());
+
+        assertEquals(200, Perform("GET", "client1").getStatus());
+    }
+
+    @Test
+    void testDoFilter_ShouldUseSeparateBuckets_WhenDifferentApiKeys() throws Exception {
+        assertEquals(200, Perform("POST", "client1").getStatus());
+        assertEquals(429, Perform("POST", "client1").getStatus());
+
+        assertEquals(200, Perform("POST", "client2").getStatus());
+    }
+
+    @Test
+    void testDoFilter_ShouldLimitByRemoteAddress_WhenApiKeyUnknown() throws Exception {
+        assertEquals(200, Perform("POST", "random1").getStatus());
+
+        assertEquals(429, Perform("POST", "random2").getStatus());
+    }
+
+    @Test
+    void testDoFilter_ShouldLimitByForwardedClient_WhenBehindTrustedProxies() throws Exception {
+        assertEquals(200, PerformForwarded("10.0.0.1", "203.0.113.7, 10.0.0.2").getStatus());
+        assertEquals(429, PerformForwarded("10.0.0.1", "198.51.100.1, 203.0.113.7, 10.0.0.2").getStatus());
+
+        assertEquals(200, PerformForwarded("10.0.0.1", "203.0.113.8, 10.0.0.2").getStatus());
+    }
+
+    @Test
+    void testDoFilter_ShouldIgnoreForwardedFor_WhenRemoteIsNotTrusted() throws Exception {
+        assertEquals(200, PerformForwarded("192.0.2.1", "203.0.113.7").getStatus());
+
+        assertEquals(429, PerformForwarded("192.0.2.1", "203.0.113.8").getStatus());
+    }
+
+    @Test
+    void testDoFilter_ShouldEvictIdleBuckets_WhenMaxClientsReached() throws Exception {
+        //given 20 permits/s: a bucket is idle again 50 ms after its last request
+        RateLimitFilter rateLimitFilter = new RateLimitFilter(
+                new RateLimitProperties(true, 20, 1, 20, 1, 1, 1, 4, 2, Duration.ofSeconds(1), API_KEYS, Set.of()));
+        assertEquals(200, Perform(rateLimitFilter, "GET", "client1").getStatus());
+        Thread.sleep(100);
+
+        //when client1 is swept, client2 gets a bucket of its own rather than the shared overflow one
+        assertEquals(200, Perform(rateLimitFilter, "GET", "client2").getStatus());
+        assertEquals(429, Perform(rateLimitFilter, "GET", "client2").getStatus());
+
+        //then
+        assertEquals(200, Perform(rateLimitFilter, "GET", "client3").getStatus());
+    }
+
+    private MockHttpServletResponse Perform(String method, String apiKey) throws Exception {
+        return Perform(_rateLimitFilter, method, apiKey);
+    }
+
+    private MockHttpServletResponse PerformForwarded(String remoteAddress, String forwardedFor) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", ENDPOINT);
+        request.setRemoteAddr(remoteAddress);
+        request.addHeader(RateLimitFilter.FORWARDED_FOR_HEADER, forwardedFor);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        _rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletResponse Perform(RateLimitFilter rateLimitFilter, String method, String apiKey) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, ENDPOINT);
+        request.addHeader(RateLimitFilter.API_KEY_HEADER, apiKey);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
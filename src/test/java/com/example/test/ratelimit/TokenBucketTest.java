@@ -0,0 +1,47 @@
+package com.example.test.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void testTryAcquire_ShouldAllowBurstThenReject_WhenNoTimePasses() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+        long now = 0;
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(bucket.TryAcquire(now));
+        }
+        assertFalse(bucket.TryAcquire(now));
+    }
+
+    @Test
+    void testTryAcquire_ShouldRefillAtConfiguredRate_WhenTimePasses() {
+        TokenBucket bucket = new TokenBucket(10, 1);
+        long now = 0;
+
+        assertTrue(bucket.TryAcquire(now));
+        assertFalse(bucket.TryAcquire(now + SECOND / 20));
+        assertTrue(bucket.TryAcquire(now + SECOND / 10));
+    }
+
+    @Test
+    void testTryAcquire_ShouldNotAccumulateMoreThanBurst_WhenIdleForLong() {
+        TokenBucket bucket = new TokenBucket(10, 2);
+        long now = 60 * SECOND;
+
+        assertTrue(bucket.TryAcquire(now));
+        assertTrue(bucket.TryAcquire(now));
+        assertFalse(bucket.TryAcquire(now));
+    }
+
+    @Test
+    void testConstructor_ShouldThrowIllegalArgumentException_WhenRateIsNotPositive() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+}
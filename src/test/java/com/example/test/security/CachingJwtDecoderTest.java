@@ -0,0 +1,92 @@
+package com.example.test.security;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingJwtDecoderTest {
+
+    private final Instant _now = Instant.parse("2024-01-01T00:00:00Z");
+    private final JwtDecoder _delegate = Mockito.mock(JwtDecoder.class);
+
+    @Test
+    void testDecode_ShouldVerifyOnce_WhenSameTokenRepeated() {
+        //given
+        CachingJwtDecoder decoder = new CachingJwtDecoder(_delegate, 10, Duration.ZERO, Clock.fixed(_now, ZoneOffset.UTC));
+        Jwt jwt = Jwt("token1", _now.plusSeconds(60));
+        Mockito.when(_delegate.decode("token1")).thenReturn(jwt);
+
+        //when
+        Jwt first = decoder.decode("token1");
+        Jwt second = decoder.decode("token1");
+
+        //then
+        assertSame(jwt, first);
+        assertSame(jwt, second);
+        Mockito.verify(_delegate, Mockito.times(1)).decode("token1");
+    }
+
+    @Test
+    void testDecode_ShouldRejectAndEvict_WhenCachedTokenExpired() {
+        //given
+        // The clock is read once per decode: _now for the first, _now + 120s for the second.
+        Clock clock = Mockito.mock(Clock.class);
+        Mockito.when(clock.instant()).thenReturn(_now, _now.plusSeconds(120));
+        CachingJwtDecoder decoder = new CachingJwtDecoder(_delegate, 10, Duration.ZERO, clock);
+        Mockito.when(_delegate.decode("token1")).thenReturn(Jwt("token1", _now.plusSeconds(60)));
+        decoder.decode("token1");
+
+        //then
+        assertThrows(BadJwtException.class, () -> decoder.decode("token1"));
+        assertEquals(0, decoder.Size());
+    }
+
+    @Test
+    void testDecode_ShouldNotCache_WhenDelegateRejectsToken() {
+        //given
+        CachingJwtDecoder decoder = new CachingJwtDecoder(_delegate, 10, Duration.ZERO, Clock.fixed(_now, ZoneOffset.UTC));
+        Mockito.when(_delegate.decode("bad")).thenThrow(new BadJwtException("bad signature"));
+
+        //then
+        assertThrows(BadJwtException.class, () -> decoder.decode("bad"));
+        assertThrows(BadJwtException.class, () -> decoder.decode("bad"));
+        assertEquals(0, decoder.Size());
+        Mockito.verify(_delegate, Mockito.times(2)).decode("bad");
+    }
+
+    @Test
+    void testDecode_ShouldEvictLeastRecentlyUsed_WhenCacheFull() {
+        //given
+        CachingJwtDecoder decoder = new CachingJwtDecoder(_delegate, 2, Duration.ZERO, Clock.fixed(_now, ZoneOffset.UTC));
+        for (String token : new String[]{"token1", "token2", "token3"}) {
+            Mockito.when(_delegate.decode(token)).thenReturn(Jwt(token, _now.plusSeconds(60)));
+        }
+
+        //when
+        decoder.decode("token1");
+        decoder.decode("token2");
+        decoder.decode("token1");
+        decoder.decode("token3");
+        decoder.decode("token1");
+        decoder.decode("token2");
+
+        //then
+        assertEquals(2, decoder.Size());
+        Mockito.verify(_delegate, Mockito.times(1)).decode("token1");
+        Mockito.verify(_delegate, Mockito.times(2)).decode("token2");
+    }
+
+    private static Jwt Jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token).header("alg", "HS256").subject("service")
+                .issuedAt(expiresAt.minusSeconds(300)).expiresAt(expiresAt).build();
+    }
+}
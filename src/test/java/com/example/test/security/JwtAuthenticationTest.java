@@ -0,0 +1,128 @@
+package com.example.test.security;
+
+import com.example.test.dto.CreateProductDto;
+import com.example.test.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "product.security.jwt.secret=" + JwtAuthenticationTest.SECRET)
+class JwtAuthenticationTest {
+
+    static final String SECRET = "test-secret-with-at-least-32-bytes-of-key";
+
+    private final String ENDPOINT = "/api/v1/products/";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper _objectMapper;
+    @Autowired
+    private JwtDecoder _jwtDecoder;
+    @Autowired
+    private ProductRepository _productRepository;
+
+    @AfterEach
+    void tearDown() {
+        _productRepository.deleteAll();
+    }
+
+    @Test
+    void testCreate_ShouldCreateProduct_WhenTokenHasManagerRole() throws Exception {
+        String token = Token(SECRET, List.of("MANAGER"), Instant.now().plusSeconds(300));
+
+        mockMvc.perform(MockMvcRequestBuilders.post(ENDPOINT)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(_objectMapper.writeValueAsString(new CreateProductDto("test", "description", 10, 1))))
+                .andDo(print())
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void testDelete_ShouldReturnStatusForbidden_WhenTokenHasNoWriteRole() throws Exception {
+        String token = Token(SECRET, List.of("USER"), Instant.now().plusSeconds(300));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete(ENDPOINT + "{id}", "id1")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testDelete_ShouldReturnStatusUnauthorized_WhenTokenSignedWithOtherKey() throws Exception {
+        String token = Token("another-secret-with-at-least-32-bytes-xx", List.of("ADMIN"), Instant.now().plusSeconds(300));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete(ENDPOINT + "{id}", "id1")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testDelete_ShouldReturnStatusUnauthorized_WhenTokenExpired() throws Exception {
+        String token = Token(SECRET, List.of("ADMIN"), Instant.now().minusSeconds(300));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete(ENDPOINT + "{id}", "id1")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void testGetAll_ShouldNotRequireToken() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(ENDPOINT))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testDecode_ShouldServeRepeatedTokenFromCache() throws Exception {
+        String token = Token(SECRET, List.of("ADMIN"), Instant.now().plusSeconds(300));
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(MockMvcRequestBuilders.delete(ENDPOINT + "{id}", "id1")
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                    .andExpect(status().isNotFound());
+        }
+
+        assertInstanceOf(CachingJwtDecoder.class, _jwtDecoder);
+        assertSame(_jwtDecoder.decode(token), _jwtDecoder.decode(token));
+    }
+
+    static String Token(String secret, List<String> roles, Instant expiresAt) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("service")
+                .claim("roles", roles)
+                .issueTime(Date.from(expiresAt.minusSeconds(600)))
+                .expirationTime(Date.from(expiresAt))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner(secret.getBytes(StandardCharsets.UTF_8)));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.test.service;
+
+import com.example.test.dto.CreateProductDto;
+import com.example.test.dto.HistoryBucketDto;
+import com.example.test.dto.ProductDto;
+import com.example.test.dto.ProductHistoryDto;
+import com.example.test.dto.ProductHistoryQueryDto;
+import com.example.test.dto.UpdateProductDto;
+import com.example.test.history.ProductHistoryWriter;
+import com.example.test.model.ProductHistory;
+import com.example.test.repository.ProductHistoryRepository;
+import com.example.test.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductHistoryServiceTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    private ProductHistoryService _productHistoryService;
+    @Autowired
+    private ProductHistoryWriter _productHistoryWriter;
+    @Autowired
+    private ProductHistoryRepository _productHistoryRepository;
+    @Autowired
+    private ProductService _productService;
+    @Autowired
+    private ProductRepository _productRepository;
+
+    @AfterEach
+    void tearDown() {
+        _productRepository.deleteAll();
+        _productHistoryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testGetHistory_ShouldReturnSamplesCapturedFromCreateAndUpdates() throws Exception {
+        //given
+        long written = _productHistoryWriter.GetWritten();
+        ProductDto product = _productService.Add(new CreateProductDto("test", "description", 10, 5));
+        _productService.Update(new UpdateProductDto(product.id(), "test", "description", 14, 4));
+        _productService.Update(new UpdateProductDto(product.id(), "test", "description", 8, 9));
+        _productService.Update(new UpdateProductDto(product.id(), "test", "description", 11, 2));
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (_productHistoryWriter.GetWritten() < written + 4 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        //then
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/{id}/history", product.id())
+                        .param("buckets", "1"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productId").value(product.id()))
+                .andExpect(jsonPath("$.buckets.length()").value(1))
+                .andExpect(jsonPath("$.buckets[0].samples").value(4))
+                .andExpect(jsonPath("$.buckets[0].minPrice").value(8.0))
+                .andExpect(jsonPath("$.buckets[0].maxPrice").value(14.0))
+                .andExpect(jsonPath("$.buckets[0].lastPrice").value(11.0))
+                .andExpect(jsonPath("$.buckets[0].minStock").value(2))
+                .andExpect(jsonPath("$.buckets[0].maxStock").value(9))
+                .andExpect(jsonPath("$.buckets[0].lastStock").value(2));
+    }
+
+    @Test
+    void testGetHistory_ShouldDownsampleRangeIntoBuckets_AndIgnoreRowsOutsideIt() {
+        //given
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        long start = ProductHistory.EpochMicros(from);
+        _productHistoryRepository.saveAll(List.of(
+                new ProductHistory("id1", start - 1, 99, 99),
+                new ProductHistory("id1", start + 100_000, 10, 5),
+                new ProductHistory("id1", start + 500_000, 12, 3),
+                new ProductHistory("id1", start + 1_200_000, 8, 9),
+                new ProductHistory("id1", start + 2_900_000, 20, 1),
+                new ProductHistory("id1", start + 3_000_000, 99, 99),
+                new ProductHistory("id2", start + 200_000, 99, 99)));
+
+        //when
+        ProductHistoryDto result = _productHistoryService.GetHistory("id1",
+                new ProductHistoryQueryDto(from, from.plusSeconds(3), 3));
+
+        //then
+        assertEquals(1000, result.bucketMillis());
+        assertEquals(List.of(
+                new HistoryBucketDto(from, 2, 10, 12, 12, 3, 5, 3),
+                new HistoryBucketDto(from.plusSeconds(1), 1, 8, 8, 8, 9, 9, 9),
+                new HistoryBucketDto(from.plusSeconds(2), 1, 20, 20, 20, 1, 1, 1)), result.buckets());
+    }
+
+    @Test
+    void testGetHistory_ShouldReturnNoBuckets_WhenRangeIsEmpty() {
+        Instant at = Instant.parse("2024-01-01T00:00:00Z");
+
+        ProductHistoryDto result = _productHistoryService.GetHistory("id1", new ProductHistoryQueryDto(at, at, 10));
+
+        assertTrue(result.buckets().isEmpty());
+    }
+
+    @Test
+    void testGetHistory_ShouldReturnBadRequest_WhenBucketsOutOfRange() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/products/{id}/history", "id1").param("buckets", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("buckets: must be greater than or equal to 1"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.test.service;
+
+import com.example.test.model.Product;
+import com.example.test.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "product.purge.batch-size=2")
+class ProductPurgerTest {
+
+    @Autowired
+    private ProductPurger _productPurger;
+    @Autowired
+    private ProductRepository _productRepository;
+    @Autowired
+    private JdbcTemplate _jdbcTemplate;
+
+    @BeforeEach
+    @AfterEach
+    void cleanUp() {
+        _jdbcTemplate.update("delete from product");
+    }
+
+    @Test
+    void testPurge_ShouldHardDeleteOnlyOldTombstonesInBatches() {
+        //given
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            products.add(Product.builder().name("test" + i).description("description").price(10.0).stockQuantity(1).build());
+        }
+        _productRepository.saveAll(products);
+
+        ZonedDateTime now = ZonedDateTime.now();
+        _productRepository.softDeleteAllById(List.of(products.get(0).getId(), products.get(1).getId(),
+                products.get(2).getId(), products.get(3).getId()), now.minusDays(30));
+        _productRepository.softDeleteById(products.get(4).getId(), now);
+
+        //when
+        long purged = _productPurger.Purge(now.minusDays(7));
+
+        //then
+        Assertions.assertAll(
+                () -> assertEquals(4, purged),
+                () -> assertEquals(2, _jdbcTemplate.queryForObject("select count(*) from product", Long.class)),
+                () -> assertEquals(1, _productRepository.count()));
+    }
+
+    @Test
+    void testPurge_ShouldKeepRecentTombstones() {
+        //given
+        Product product = _productRepository.save(Product.builder().name("test").description("description").price(10.0).stockQuantity(1).build());
+        _productRepository.softDeleteById(product.getId(), ZonedDateTime.now());
+
+        //when
+        long purged = _productPurger.Purge(ZonedDateTime.now().minusDays(7));
+
+        //then
+        Assertions.assertAll(
+                () -> assertEquals(0, purged),
+                () -> assertEquals(1, _jdbcTemplate.queryForObject("select count(*) from product", Long.class)),
+                () -> assertEquals(0, _productRepository.count()));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.test.service;
+
+import com.example.test.catalog.CatalogSnapshot;
+import com.example.test.dto.ProductQueryDto;
+import com.example.test.dto.ProductQueryResultDto;
+import com.example.test.mapper.ProductJsonWriter;
+import com.example.test.model.Product;
+import com.example.test.query.ProductQuery;
+import com.example.test.query.ProductQueryEngine;
+import com.example.test.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductQueryServiceTest {
+
+    @Autowired
+    private ProductQueryService _productQueryService;
+    @Autowired
+    private ProductRepository _productRepository;
+    @Autowired
+    private ProductJsonWriter _productJsonWriter;
+
+    private final ProductQueryEngine _engine = new ProductQueryEngine(ForkJoinPool.commonPool());
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(7);
+        String[] prefixes = {"alpha", "beta", "al_pha", "50%off"};
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            products.add(Product.builder().name(prefixes[i % prefixes.length] + i).description("description " + i)
+                    .price(random.nextInt(400) / 4.0 + 0.25).stockQuantity(random.nextInt(30)).build());
+        }
+        _productRepository.saveAll(products);
+        // Soft-deleted rows must be invisible to both paths.
+        _productRepository.softDeleteAllById(List.of(products.get(0).getId(), products.get(1).getId()),
+                ZonedDateTime.now());
+    }
+
+    @AfterEach
+    void tearDown() {
+        _productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testQuery_ShouldMatchSql_ForFiltersTopKAndBuckets() throws IOException {
+        //given
+        CatalogSnapshot snapshot = CatalogSnapshot.Build(_productRepository.findAll(), _productJsonWriter);
+        List<ProductQueryDto> queries = List.of(
+                new ProductQueryDto(null, null, null, null, null, 10.0, null, null, null),
+                new ProductQueryDto(20.0, 60.0, 5, 20, "alpha", 2.5, null, null, 25),
+                new ProductQueryDto(null, null, null, 3, null, null, ProductQueryDto.OrderBy.STOCK, true, 100),
+                new ProductQueryDto(null, 30.0, null, null, "al_", 5.0, ProductQueryDto.OrderBy.PRICE, false, 15),
+                new ProductQueryDto(null, null, null, null, "50%", 7.0, ProductQueryDto.OrderBy.STOCK, false, 10),
+                new ProductQueryDto(null, null, null, null, "zeta", 1.0, null, null, 10));
+
+        for (ProductQueryDto queryDto : queries) {
+            ProductQuery query = ProductQuery.Of(queryDto);
+
+            //when
+            ProductQueryResultDto sql = _productQueryService.QueryDatabase(query);
+            ProductQueryResultDto inMemory = _engine.Execute(snapshot, query);
+
+            //then
+            assertEquals(sql, inMemory, queryDto.toString());
+        }
+    }
+
+    @Test
+    void testQuery_ShouldTreatLikeWildcardsInPrefixLiterally() {
+        ProductQueryResultDto result = _productQueryService.Query(
+                new ProductQueryDto(null, null, null, null, "al_", null, null, null, 1000));
+
+        assertEquals(750, result.matched());
+        assertTrue(result.top().stream().allMatch(product -> product.name().startsWith("al_pha")));
+    }
+}
@@ -3,7 +3,9 @@ package com.example.test.service;
 import com.example.test.dto.CreateProductDto;
 import com.example.test.dto.ProductDto;
 import com.example.test.dto.UpdateProductDto;
+import com.example.test.event.ProductChangedEvent;
 import com.example.test.exceptions.NotFoundException;
+import com.example.test.mapper.ProductJsonWriter;
 import com.example.test.mapper.ProductMapper;
 import com.example.test.model.Product;
 import com.example.test.repository.ProductRepository;
@@ -14,10 +16,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 
 class ProductServiceTest {
@@ -31,12 +35,18 @@ class ProductServiceTest {
     //    @MockBean
     private ProductMapper _productMapper;
 
+    private ProductJsonWriter _productJsonWriter;
+
+    private ApplicationEventPublisher _eventPublisher;
+
     @BeforeEach
     void setUp() {
         _productRepository = Mockito.mock(ProductRepository.class);
         _productMapper = Mockito.mock(ProductMapper.class);
+        _productJsonWriter = Mockito.mock(ProductJsonWriter.class);
+        _eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
 
-        _productService = new ProductService(_productRepository, _productMapper);
+        _productService = new ProductService(_productRepository, _productMapper, _productJsonWriter, _eventPublisher);
     }
 
 
@@ -116,6 +126,17 @@ class ProductServiceTest {
         Mockito.verifyNoInteractions(_productMapper);
     }
 
+    @Test
+    void testGetById_ShouldThrowNotFoundExceptionWithoutStackTrace_WhenProductDoesNotExist() {
+        //given
+        Mockito.when(_productRepository.findById("id1")).thenReturn(Optional.empty());
+
+        //then
+        NotFoundException exception = Assertions.assertThrows(NotFoundException.class, () -> _productService.GetById("id1"));
+        Assertions.assertEquals("Product (id1) not found.", exception.getMessage());
+        Assertions.assertEquals(0, exception.getStackTrace().length);
+    }
+
     @Test
     void testUpdate_ShouldUpdateProductAndReturnProductDto_WhenValidRequestAndProductExist() {
 
@@ -192,6 +213,7 @@ class ProductServiceTest {
         Mockito.verify(_productRepository).save(product);
         Mockito.verify(_productMapper).MapToProductDto(product);
         Mockito.verify(_productMapper).MapToProduct(createProductDto);
+        Mockito.verify(_eventPublisher).publishEvent(new ProductChangedEvent(expect.id(), expect, 0));
     }
 
 //    @ParameterizedTest(name = "name={1},description={2}")
@@ -224,31 +246,92 @@ class ProductServiceTest {
     }
 
     @Test
-    void testDelete_ShouldDeleteProduct_WhenProductExist() {
+    void testUpdateAll_ShouldUpdateFoundProductsAndReturnMissingIds() {
 
         //given
-        Product product = new Product();
+        Product product = Product.builder()
+                .id("id1").name("test").description("description").price(10.0).stockQuantity(1).build();
 
-        Mockito.when(_productRepository.findById(product.getId())).thenReturn(Optional.of(product));
-        Mockito.doNothing().when(_productRepository).delete(product);
+        UpdateProductDto found = new UpdateProductDto("id1", "updateName", "updateDesc", 15, 100);
+        UpdateProductDto missing = new UpdateProductDto("id2", "updateName", "updateDesc", 15, 100);
+
+        Mockito.when(_productRepository.findAllById(Mockito.any())).thenReturn(List.of(product));
 
         //when
-        _productService.Delete(product.getId());
+        Set<String> result = _productService.UpdateAll(List.of(found, missing));
 
         //then
-        Mockito.verify(_productRepository).findById(product.getId());
-        Mockito.verify(_productRepository).delete(product);
+        Assertions.assertEquals(Set.of("id2"), result);
+        Mockito.verify(_productMapper).UpdateProduct(product, found);
+        Mockito.verify(_productRepository).saveAll(List.of(product));
     }
 
     @Test
-    void testDelete_ShouldDeleteProduct_WhenProductDoesNotExist() {
+    void testDelete_ShouldSoftDeleteProduct_WhenProductExist() {
 
         //given
-        Mockito.when(_productRepository.findById(Mockito.any())).thenReturn(Optional.empty());
+        String id = "id1";
+
+        Mockito.when(_productRepository.softDeleteById(Mockito.eq(id), Mockito.any())).thenReturn(1);
+
+        //when
+        _productService.Delete(id);
+
+        //then
+        Mockito.verify(_productRepository).softDeleteById(Mockito.eq(id), Mockito.any());
+        Mockito.verify(_eventPublisher).publishEvent(ProductChangedEvent.Deleted(id));
+        Mockito.verify(_productRepository, Mockito.never()).findById(Mockito.any());
+        Mockito.verify(_productRepository, Mockito.never()).delete(Mockito.any());
+    }
+
+    @Test
+    void testDelete_ShouldThrowNotFoundException_WhenProductDoesNotExist() {
+
+        //given
+        Mockito.when(_productRepository.softDeleteById(Mockito.any(), Mockito.any())).thenReturn(0);
 
         //then
         Assertions.assertThrows(NotFoundException.class, () -> _productService.Delete(""));
-        Mockito.verify(_productRepository).findById(Mockito.any());
+        Mockito.verify(_productRepository).softDeleteById(Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(_eventPublisher);
+    }
+
+    @Test
+    void testDeleteAll_ShouldSoftDeleteAndPublishOnlyLiveIds() {
+
+        //given
+        List<String> ids = List.of("id1", "id2", "id3");
+        List<String> liveIds = List.of("id1", "id3");
+
+        Mockito.when(_productRepository.findLiveIdsForUpdate(ids)).thenReturn(liveIds);
+        Mockito.when(_productRepository.softDeleteAllById(Mockito.eq(liveIds), Mockito.any())).thenReturn(2);
+
+        //when
+        int result = _productService.DeleteAll(ids);
+
+        //then
+        Assertions.assertEquals(2, result);
+        Mockito.verify(_productRepository).softDeleteAllById(Mockito.eq(liveIds), Mockito.any());
+        Mockito.verify(_eventPublisher).publishEvent(ProductChangedEvent.Deleted("id1"));
+        Mockito.verify(_eventPublisher).publishEvent(ProductChangedEvent.Deleted("id3"));
+        Mockito.verifyNoMoreInteractions(_eventPublisher);
+    }
+
+    @Test
+    void testDeleteAll_ShouldPublishNothing_WhenNoIdIsLive() {
+
+        //given
+        List<String> ids = List.of("id1", "id2");
+
+        Mockito.when(_productRepository.findLiveIdsForUpdate(ids)).thenReturn(List.of());
+
+        //when
+        int result = _productService.DeleteAll(ids);
+
+        //then
+        Assertions.assertEquals(0, result);
+        Mockito.verify(_productRepository, Mockito.never()).softDeleteAllById(Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(_eventPublisher);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.example.test.service;
+
+import com.example.test.dto.CreateProductDto;
+import com.example.test.dto.LowStockProductDto;
+import com.example.test.dto.ProductDto;
+import com.example.test.dto.ProductStatsDto;
+import com.example.test.dto.UpdateProductDto;
+import com.example.test.event.ProductChangedEvent;
+import com.example.test.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductStatsServiceTest {
+
+    private static final double DELTA = 1e-6;
+
+    @Autowired
+    private ProductStatsService _productStatsService;
+    @Autowired
+    private ProductService _productService;
+    @Autowired
+    private ProductRepository _productRepository;
+
+    @BeforeEach
+    void setUp() {
+        _productRepository.deleteAll();
+        _productStatsService.Recompute();
+    }
+
+    @AfterEach
+    void tearDown() {
+        _productRepository.deleteAll();
+    }
+
+    @Test
+    void testGetStats_ShouldMatchRecomputedValues_AfterAddUpdateAndDelete() {
+        //given
+        ProductDto p1 = _productService.Add(new CreateProductDto("p1", "description", 10, 2));
+        ProductDto p2 = _productService.Add(new CreateProductDto("p2", "description", 20.5, 10));
+        ProductDto p3 = _productService.Add(new CreateProductDto("p3", "description", 5, 1));
+        ProductDto p4 = _productService.Add(new CreateProductDto("p4", "description", 99, 3));
+        List<ProductDto> bulk = _productService.AddAll(List.of(
+                new CreateProductDto("p5", "description", 7, 8),
+                new CreateProductDto("p6", "description", 1.25, 4)));
+
+        _productService.Update(new UpdateProductDto(p1.id(), "p1", "description", 12, 20));
+        _productService.UpdateAll(List.of(new UpdateProductDto(bulk.get(0).id(), "p5", "description", 7, 2)));
+        _productService.Delete(p4.id());
+        _productService.DeleteAll(List.of(p3.id()));
+
+        //when
+        ProductStatsDto incremental = _productStatsService.GetStats();
+        _productStatsService.Recompute();
+        ProductStatsDto recomputed = _productStatsService.GetStats();
+
+        //then
+        Assertions.assertAll(
+                () -> assertEquals(4, incremental.count()),
+                () -> assertEquals(12 * 20 + 20.5 * 10 + 7 * 2 + 1.25 * 4, incremental.totalInventoryValue(), DELTA),
+                () -> assertEquals(1.25, incremental.minPrice()),
+                () -> assertEquals(20.5, incremental.maxPrice()),
+                () -> assertEquals((12 + 20.5 + 7 + 1.25) / 4, incremental.avgPrice(), DELTA),
+                () -> assertEquals(List.of(
+                        new LowStockProductDto(bulk.get(0).id(), "p5", 2),
+                        new LowStockProductDto(bulk.get(1).id(), "p6", 4)), incremental.lowStock()),
+                () -> assertEquals(recomputed.count(), incremental.count()),
+                () -> assertEquals(recomputed.totalInventoryValue(), incremental.totalInventoryValue(), DELTA),
+                () -> assertEquals(recomputed.minPrice(), incremental.minPrice()),
+                () -> assertEquals(recomputed.maxPrice(), incremental.maxPrice()),
+                () -> assertEquals(recomputed.avgPrice(), incremental.avgPrice(), DELTA),
+                () -> assertEquals(recomputed.lowStock(), incremental.lowStock()));
+    }
+
+    @Test
+    void testOnProductChanged_ShouldIgnoreEvents_ThatAreNotNewer() {
+        //given
+        _productStatsService.OnProductChanged(new ProductChangedEvent("id1",
+                new ProductDto("id1", "p1", "description", 20, 2), 2));
+        _productStatsService.OnProductChanged(new ProductChangedEvent("id2",
+                new ProductDto("id2", "p2", "description", 5, 1), 1));
+        _productStatsService.OnProductChanged(ProductChangedEvent.Deleted("id2"));
+
+        //when
+        _productStatsService.OnProductChanged(new ProductChangedEvent("id1",
+                new ProductDto("id1", "p1", "description", 10, 1), 1));
+        _productStatsService.OnProductChanged(new ProductChangedEvent("id2",
+                new ProductDto("id2", "p2", "description", 5, 1), 1));
+        ProductStatsDto stats = _productStatsService.GetStats();
+
+        //then
+        Assertions.assertAll(
+                () -> assertEquals(1, stats.count()),
+                () -> assertEquals(20 * 2, stats.totalInventoryValue(), DELTA),
+                () -> assertEquals(20, stats.minPrice()),
+                () -> assertEquals(List.of(new LowStockProductDto("id1", "p1", 2)), stats.lowStock()));
+    }
+
+    @Test
+    void testGetStats_ShouldReturnEmptyStats_WhenNoProducts() {
+        ProductStatsDto stats = _productStatsService.GetStats();
+
+        Assertions.assertAll(
+                () -> assertEquals(0, stats.count()),
+                () -> assertEquals(0, stats.totalInventoryValue()),
+                () -> assertNull(stats.minPrice()),
+                () -> assertNull(stats.maxPrice()),
+                () -> assertNull(stats.avgPrice()),
+                () -> assertTrue(stats.lowStock().isEmpty()));
+    }
+}